@@ -0,0 +1,7 @@
+#!/bin/sh
+# Usage: bench.sh [JMH options] [benchmark regexp], e.g. bench.sh -rf json -rff bench.json PlayoutBenchmark
+# The forked benchmark JVMs use the same flags as run.sh
+JAVA_OPTS=${JAVA_OPTS:-"-Xms2g -Xmx2g -XX:+AlwaysPreTouch -XX:+UseParallelGC"}
+JAR=`dirname $0`/bench/target/benchmarks.jar
+
+java -jar $JAR -jvmArgsAppend "$JAVA_OPTS" "$@"
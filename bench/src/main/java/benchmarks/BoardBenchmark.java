@@ -0,0 +1,73 @@
+package benchmarks;
+
+import breakthrough.game.Board;
+import framework.MoveList;
+import framework.util.FastRandom;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move generation, move making and evaluation on the reference positions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+    @Param({"start", "opening1", "middle1", "middle2", "end1"})
+    public String position;
+    @Param({"true", "false"})
+    public boolean heuristics;
+
+    private Board board;
+    private MoveList moves, expandMoves = new MoveList(Board.MAX_MOVES);
+
+    @Setup
+    public void setup() {
+        board = Positions.get(position);
+        board.setRandom(new FastRandom(1));
+        moves = board.getExpandMoves(null);
+    }
+
+    /**
+     * Make and undo all moves in the position
+     */
+    @Benchmark
+    public long doMove() {
+        long hash = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.doMove(moves.get(i), heuristics);
+            hash ^= board.hash();
+            board.undoMove();
+        }
+        return hash;
+    }
+
+    /**
+     * Generate the moves into a reused list, as the searches do
+     */
+    @Benchmark
+    public MoveList getExpandMoves() {
+        return board.getExpandMoves(expandMoves, null);
+    }
+
+    @Benchmark
+    public int getPlayoutMove() {
+        return board.getPlayoutMove(heuristics);
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole bh) {
+        bh.consume(board.evaluate(1, false));
+        bh.consume(board.evaluate(2, false));
+    }
+
+    @Benchmark
+    public Board cloneBoard() {
+        return board.clone();
+    }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import breakthrough.game.Board;
+import framework.util.FastRandom;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random play-outs to the end of the game from the reference positions, as played by the search.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayoutBenchmark {
+    @Param({"start", "opening1", "middle1", "middle2", "end1"})
+    public String position;
+    @Param({"true", "false"})
+    public boolean heuristics;
+
+    private Board board;
+
+    @Setup
+    public void setup() {
+        board = Positions.get(position);
+        board.setRandom(new FastRandom(1));
+    }
+
+    /**
+     * @return The winner of the play-out
+     */
+    @Benchmark
+    public int playOut() {
+        int winner = board.checkWin(), nMoves = 0;
+        while (winner == Board.NONE_WIN) {
+            board.doMove(board.getPlayoutMove(heuristics), true);
+            winner = board.checkWin();
+            nMoves++;
+        }
+        for (; nMoves > 0; nMoves--)
+            board.undoMove();
+        return winner;
+    }
+}
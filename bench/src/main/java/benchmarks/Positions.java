@@ -0,0 +1,60 @@
+package benchmarks;
+
+import breakthrough.game.Board;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The reference positions in positions.txt, played from the start position.
+ */
+public final class Positions {
+    private static Map<String, String[]> positions;
+
+    private Positions() {
+    }
+
+    /**
+     * @return A new board in the named position
+     */
+    public static synchronized Board get(String name) {
+        if (positions == null)
+            positions = load();
+        String[] moves = positions.get(name);
+        if (moves == null)
+            throw new RuntimeException("Unknown position: " + name);
+        Board board = new Board();
+        board.initialize();
+        for (String move : moves)
+            board.doMove(Board.parseMove(move), true);
+        if (board.checkWin() != Board.NONE_WIN)
+            throw new RuntimeException("Position " + name + " is terminal");
+        return board;
+    }
+
+    private static Map<String, String[]> load() {
+        Map<String, String[]> map = new LinkedHashMap<>();
+        InputStream in = Positions.class.getResourceAsStream("/positions.txt");
+        if (in == null)
+            throw new RuntimeException("positions.txt is not on the class path");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+                int colon = line.indexOf(':');
+                String moves = line.substring(colon + 1).trim();
+                map.put(line.substring(0, colon).trim(), moves.isEmpty() ? new String[0] : moves.split("\\s+"));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read positions.txt", e);
+        }
+        return map;
+    }
+}
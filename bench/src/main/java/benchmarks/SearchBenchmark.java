@@ -0,0 +1,63 @@
+package benchmarks;
+
+import breakthrough.game.Board;
+import framework.AIPlayer;
+import framework.Options;
+import framework.util.FastRandom;
+import mcts.H_MCTS.HybridPlayer;
+import mcts.SHOT.SHOTPlayer;
+import mcts.uct.UCTPlayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A search with a fixed number of play-outs by each of the players, with a new player (and transposition table) for
+ * every search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+    private static final int TT_BITS = 18, NODE_BITS = 20;
+    @Param({"uct", "shot", "hmcts"})
+    public String player;
+    @Param({"start", "middle1", "end1"})
+    public String position;
+    @Param({"10000"})
+    public int budget;
+
+    private Board board;
+    private AIPlayer aiPlayer;
+    private long seed = 1;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        board = Positions.get(position);
+        board.setRandom(new FastRandom(seed++));
+        Options options = new Options();
+        options.debug = false;
+        options.fixSimulations = true;
+        options.timeLimit = budget;
+        options.ttBits = TT_BITS;
+        options.nodeBits = NODE_BITS;
+        if (player.equals("uct"))
+            aiPlayer = new UCTPlayer();
+        else if (player.equals("shot"))
+            aiPlayer = new SHOTPlayer();
+        else if (player.equals("hmcts"))
+            aiPlayer = new HybridPlayer();
+        else
+            throw new RuntimeException("Unrecognized player: " + player);
+        aiPlayer.setOptions(options);
+    }
+
+    @Benchmark
+    public int getMove() {
+        aiPlayer.getMove(board);
+        return aiPlayer.getBestMove();
+    }
+}
@@ -0,0 +1,123 @@
+package benchmarks;
+
+import framework.util.FastRandom;
+import mcts.transpos.BaseTransposTable;
+import mcts.transpos.TransposTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups and insertions in a transposition table that is filled to a given load. The sweep benchmark removes the
+ * stale states of the previous generations, it replaced the pack of the table at the end of a move.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransposTableBenchmark {
+    private static final int BITS = 20, KEYS = 1 << 16;
+    @Param({"none", "visits", "age"})
+    public String replace;
+    @Param({"false", "true"})
+    public boolean offHeap;
+    @Param({"0.5", "0.9"})
+    public double load;
+
+    private TransposTable tt;
+    private long[] stored, absent;
+    private int next;
+
+    @Setup
+    public void setup() {
+        tt = TransposTable.create(BITS, BaseTransposTable.parseReplace(replace), offHeap);
+        FastRandom r = new FastRandom(1);
+        stored = fill(tt, load, r);
+        absent = new long[KEYS];
+        for (int i = 0; i < KEYS; i++)
+            absent[i] = r.nextLong();
+    }
+
+    /**
+     * Insertions make the table stale as a search does, one generation per iteration
+     */
+    @Setup(Level.Iteration)
+    public void nextGeneration() {
+        tt.nextGeneration();
+    }
+
+    /**
+     * Fill the table to the load with random states
+     *
+     * @return A sample of the hashes of the states in the table
+     */
+    private static long[] fill(TransposTable tt, double load, FastRandom r) {
+        long[] hashes = new long[KEYS];
+        int n = (int) (load * (1 << BITS));
+        for (int i = 0; i < n; i++) {
+            long hash = r.nextLong();
+            int s = tt.getState(hash, false);
+            if (s != TransposTable.NONE)
+                tt.updateStats(s, 1, 1, false);
+            hashes[i % KEYS] = hash;
+        }
+        return hashes;
+    }
+
+    @Benchmark
+    public int getStateHit() {
+        return tt.getState(stored[next++ & (KEYS - 1)], true);
+    }
+
+    @Benchmark
+    public int getStateMiss() {
+        return tt.getState(absent[next++ & (KEYS - 1)], true);
+    }
+
+    /**
+     * Add new states and sweep as the search does, in a full table they replace others
+     */
+    @Benchmark
+    public int getStateInsert() {
+        long hash = absent[next & (KEYS - 1)] ^ ((long) next << 32);
+        if (++next % TransposTable.SWEEP_INTERVAL == 0)
+            tt.sweep();
+        int s = tt.getState(hash, false);
+        if (s != TransposTable.NONE)
+            tt.updateStats(s, 1, 1, false);
+        return s;
+    }
+
+    /**
+     * A table in which all states are stale, refilled before every sweep
+     */
+    @State(Scope.Thread)
+    public static class StaleTable {
+        TransposTable tt;
+
+        @Setup(Level.Invocation)
+        public void setup(TransposTableBenchmark b) {
+            tt = TransposTable.create(BITS, BaseTransposTable.parseReplace(b.replace), b.offHeap);
+            fill(tt, b.load, new FastRandom(1));
+            tt.nextGeneration();
+            tt.nextGeneration();
+        }
+    }
+
+    /**
+     * Sweep the whole table
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public int sweep(StaleTable stale) {
+        int removed = 0;
+        for (int i = 0; i < (1 << BITS) / BaseTransposTable.SWEEP_SLICE; i++)
+            removed += stale.tt.sweep();
+        return removed;
+    }
+}
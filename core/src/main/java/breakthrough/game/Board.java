@@ -0,0 +1,635 @@
+package breakthrough.game;
+
+import framework.MoveList;
+import framework.util.FastRandom;
+
+import java.util.Random;
+
+public class Board {
+    public static final int P1 = 1, NONE_WIN = -1, PIECES = 16;
+    // The most moves in a position, every piece has at most two diagonal moves and a forward move
+    public static final int MAX_MOVES = 3 * PIECES;
+    private static final String rowLabels = "87654321", colLabels = "abcdefgh";
+    // Returned by sampleMove if there are no targets, not a valid move
+    private static final int NO_MOVE = -1;
+    private static final int[] lorentzValues =
+            {5, 15, 15, 5, 5, 15, 15, 5,
+                    2, 3, 3, 3, 3, 3, 3, 2,
+                    4, 6, 6, 6, 6, 6, 6, 4,
+                    7, 10, 10, 10, 10, 10, 10, 7,
+                    11, 15, 15, 15, 15, 15, 15, 11,
+                    16, 21, 21, 21, 21, 21, 21, 16,
+                    20, 28, 28, 28, 28, 28, 28, 20,
+                    36, 36, 36, 36, 36, 36, 36, 36};
+    // Bitboard stuff, square r * 8 + c is bit r * 8 + c, player 1 moves towards row 0
+    private static final long FILE_A = 0x0101010101010101L, FILE_H = FILE_A << 7;
+    // Per player and square, the squares reached by a forward and by a diagonal step
+    private static final long[][] forward = new long[2][64], diagonal = new long[2][64];
+    // Per player, the row where a move wins, and the row where a capture from the home row removes a piece that is
+    // about to win
+    private static final long[] lastRow = {0xFFL, 0xFFL << 56}, defenceRow = {0xFFL << 48, 0xFFL << 8};
+    // Zobrist stuff, shared by all boards, also by the boards of games played concurrently
+    private static final long[][] zbnums = new long[8 * 8][3];
+    private static final long blackHash, whiteHash;
+    private static final long ZOBRIST_SEED = 0x5DEECE66DL;
+    // Board stuff
+    public short nMoves, winner, playerToMove;
+    private long pieces1, pieces2;
+    private int nPieces1, progress1, lorentzPV1, nPieces2, progress2, lorentzPV2;
+    private long zbHash = 0;
+    // The squares attacked by at least one and by two pieces of each player, derived from the pieces when they are
+    // first needed after a move, a piece defends the squares it attacks
+    private long attacked1, attacked2, attackedTwice1, attackedTwice2;
+    private boolean attacksValid = false;
+    // Undo stack, holds the state before every move made on this board (since it was created or cloned)
+    private static final int UNDO_LONGS = 3, UNDO_INTS = 4;
+    private long[] undoLongs;
+    private int[] undoInts;
+    private int undoSize = 0;
+    // Random generator used by the search, a board searched by its own thread should have its own
+    private Random random = new FastRandom();
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            int r = sq / 8, c = sq % 8;
+            for (int p = 0; p < 2; p++) {
+                int rp = (p == 0) ? r - 1 : r + 1;
+                if (rp < 0 || rp > 7)
+                    continue;
+                forward[p][sq] = 1L << (rp * 8 + c);
+                if (c > 0)
+                    diagonal[p][sq] |= 1L << (rp * 8 + c - 1);
+                if (c < 7)
+                    diagonal[p][sq] |= 1L << (rp * 8 + c + 1);
+            }
+        }
+        // init the zobrist numbers, 64 locations, 3 states for each location = 192
+        // The numbers are fixed, the transposition tables place the states by their hash, so a seeded game only
+        // plays the same moves with the same numbers
+        Random rng = new Random(ZOBRIST_SEED);
+        for (int i = 0; i < 8 * 8; i++) {
+            zbnums[i][0] = rng.nextLong();
+            zbnums[i][1] = rng.nextLong();
+            zbnums[i][2] = rng.nextLong();
+        }
+        whiteHash = rng.nextLong();
+        blackHash = rng.nextLong();
+    }
+
+    public void initialize() {
+        pieces2 = 0xFFFFL;          // player 2 is black, rows 0 and 1
+        pieces1 = 0xFFFFL << 48;    // player 1 is white, rows 6 and 7
+        nPieces1 = PIECES;
+        nPieces2 = PIECES;
+        playerToMove = P1;
+
+        lorentzPV1 = 0;
+        lorentzPV2 = 0;
+        for (int i = 0; i < 64; i++) {
+            if (occupant(i) == 1)
+                lorentzPV1 += getLorentzPV(1, i);
+            else if (occupant(i) == 2)
+                lorentzPV2 += getLorentzPV(2, i);
+        }
+
+        nMoves = 0;
+        undoSize = 0;
+        attacksValid = false;
+        winner = NONE_WIN;
+        progress1 = 1;
+        progress2 = 1;
+
+        // now build the initial hash
+        zbHash = 0;
+        for (int i = 0; i < 8 * 8; i++)
+            zbHash ^= zbnums[i][occupant(i)];
+        zbHash ^= whiteHash;
+    }
+
+    /**
+     * Moves are packed in a single int as from << 6 | to
+     */
+    public static int move(int from, int to) {
+        return (from << 6) | to;
+    }
+
+    public static int from(int move) {
+        return move >>> 6;
+    }
+
+    public static int to(int move) {
+        return move & 63;
+    }
+
+    public void doMove(int move, boolean updateEval) {
+        int from = from(move), to = to(move), rp = to / 8;
+        long fromBit = 1L << from, toBit = 1L << to, hash = hashAfter(move);
+        boolean capture;
+        pushUndo();
+
+        if (playerToMove == 1) {
+            capture = (pieces2 & toBit) != 0;
+            pieces1 ^= fromBit | toBit;
+            // lorentz piece value updates:
+            // subtract off from where you came, add where you ended up
+            if (updateEval)
+                lorentzPV1 += getLorentzPV(1, to) - getLorentzPV(1, from);
+            if (capture) {
+                pieces2 ^= toBit;
+                nPieces2--;
+                // wiping out this piece could reduce the player's progress
+                if (progress2 == rp && nPieces2 > 0)
+                    recomputeProgress(2);
+                // The player loses the piece's lorentz value
+                if (updateEval)
+                    lorentzPV2 -= getLorentzPV(2, to);
+            }
+            // check for a win
+            if (rp == 0 || nPieces2 == 0)
+                winner = 1;
+            // check for progress (furthest pawn)
+            if ((7 - rp) > progress1)
+                progress1 = 7 - rp;
+        } else {
+            capture = (pieces1 & toBit) != 0;
+            pieces2 ^= fromBit | toBit;
+            if (updateEval)
+                lorentzPV2 += getLorentzPV(2, to) - getLorentzPV(2, from);
+            if (capture) {
+                pieces1 ^= toBit;
+                nPieces1--;
+                if (progress1 == 7 - rp && nPieces1 > 0)
+                    recomputeProgress(1);
+                if (updateEval)
+                    lorentzPV1 -= getLorentzPV(1, to);
+            }
+            if (rp == 7 || nPieces1 == 0)
+                winner = 2;
+            if (rp > progress2)
+                progress2 = rp;
+        }
+        nMoves++;
+        zbHash = hash;
+        attacksValid = false;
+        playerToMove = (short) (3 - playerToMove);
+    }
+
+    /**
+     * @return The Zobrist hash of the position after the move, without making the move
+     */
+    public long hashAfter(int move) {
+        int from = from(move), to = to(move);
+        long opponent = (playerToMove == 1) ? pieces2 : pieces1;
+        int captured = (((opponent >>> to) & 1L) != 0) ? 3 - playerToMove : 0;
+        return zbHash ^ zbnums[from][playerToMove] ^ zbnums[from][0]
+                ^ zbnums[to][captured] ^ zbnums[to][playerToMove] ^ whiteHash ^ blackHash;
+    }
+
+    /**
+     * @return True if the move wins the game for the player to move, i.e. it reaches the last row or
+     * captures the opponent's last piece
+     */
+    public boolean isWinningMove(int move) {
+        int to = to(move);
+        if (playerToMove == 1)
+            return to / 8 == 0 || (nPieces2 == 1 && ((pieces2 >>> to) & 1L) != 0);
+        else
+            return to / 8 == 7 || (nPieces1 == 1 && ((pieces1 >>> to) & 1L) != 0);
+    }
+
+    /**
+     * Takes back the last move made by doMove, restoring the pieces, counts, progress, Lorentz values and hash
+     */
+    public void undoMove() {
+        if (undoSize == 0)
+            throw new RuntimeException("No move to undo");
+        undoSize--;
+        int l = undoSize * UNDO_LONGS, i = undoSize * UNDO_INTS;
+        pieces1 = undoLongs[l];
+        pieces2 = undoLongs[l + 1];
+        zbHash = undoLongs[l + 2];
+        lorentzPV1 = undoInts[i];
+        lorentzPV2 = undoInts[i + 1];
+        progress1 = undoInts[i + 2] & 0xFF;
+        progress2 = undoInts[i + 2] >>> 8;
+        winner = (short) undoInts[i + 3];
+        nPieces1 = Long.bitCount(pieces1);
+        nPieces2 = Long.bitCount(pieces2);
+        nMoves--;
+        attacksValid = false;
+        playerToMove = (short) (3 - playerToMove);
+    }
+
+    private void pushUndo() {
+        if (undoLongs == null) {
+            undoLongs = new long[64 * UNDO_LONGS];
+            undoInts = new int[64 * UNDO_INTS];
+        } else if (undoSize * UNDO_LONGS == undoLongs.length) {
+            long[] undoLongsNew = new long[undoLongs.length * 2];
+            int[] undoIntsNew = new int[undoInts.length * 2];
+            System.arraycopy(undoLongs, 0, undoLongsNew, 0, undoLongs.length);
+            System.arraycopy(undoInts, 0, undoIntsNew, 0, undoInts.length);
+            undoLongs = undoLongsNew;
+            undoInts = undoIntsNew;
+        }
+        int l = undoSize * UNDO_LONGS, i = undoSize * UNDO_INTS;
+        undoLongs[l] = pieces1;
+        undoLongs[l + 1] = pieces2;
+        undoLongs[l + 2] = zbHash;
+        undoInts[i] = lorentzPV1;
+        undoInts[i + 1] = lorentzPV2;
+        undoInts[i + 2] = progress1 | (progress2 << 8);
+        undoInts[i + 3] = winner;
+        undoSize++;
+    }
+
+    public MoveList getExpandMoves(MoveList captures) {
+        return getExpandMoves(new MoveList(MAX_MOVES), captures);
+    }
+
+    /**
+     * @param moves Cleared and filled with the moves, such that a search can reuse the list for every expansion
+     * @return The moves
+     */
+    public MoveList getExpandMoves(MoveList moves, MoveList captures) {
+        moves.clear();
+        generateExpandMoves(moves, captures);
+        return moves;
+    }
+
+    private void generateExpandMoves(MoveList allMoves, MoveList captures) {
+        long empty = ~(pieces1 | pieces2);
+        // Generate the moves of all pieces at once by shifting the player's bitboard
+        if (playerToMove == 1) {
+            addMoves(((pieces1 & ~FILE_A) >>> 9) & ~pieces1, 9, pieces2, allMoves, captures);  // northwest
+            addMoves(((pieces1 & ~FILE_H) >>> 7) & ~pieces1, 7, pieces2, allMoves, captures);  // northeast
+            addMoves((pieces1 >>> 8) & empty, 8, 0, allMoves, null);                           // north
+        } else {
+            addMoves(((pieces2 & ~FILE_A) << 7) & ~pieces2, -7, pieces1, allMoves, captures);
+            addMoves(((pieces2 & ~FILE_H) << 9) & ~pieces2, -9, pieces1, allMoves, captures);
+            addMoves((pieces2 << 8) & empty, -8, 0, allMoves, null);
+        }
+    }
+
+    private void addMoves(long targets, int delta, long opponent, MoveList moveList, MoveList captures) {
+        int to;
+        while (targets != 0) {
+            to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moveList.add(move(to + delta, to));
+            if (captures != null && (opponent & (1L << to)) != 0)
+                captures.add(move(to + delta, to));
+        }
+    }
+
+    public int evaluate(int player, boolean test) {
+        int p1eval = 10 * (nPieces1 - nPieces2);
+//        p1eval += (2.5 * progress1) - (2.5 * progress2);
+        p1eval += lorentzPV1 - lorentzPV2;
+        // Check for piece safety, a piece is safe if it is defended at least as often as it is attacked. Every safe
+        // piece adds half its value and the sum is truncated per piece, as it was when the pieces were kept in lists
+        updateAttacks();
+        int sq;
+        long pieces = pieces1 & ~((attacked2 & ~attacked1) | (attackedTwice2 & ~attackedTwice1));
+        while (pieces != 0) {
+            sq = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            p1eval += .5 * lorentzValues[63 - sq];
+        }
+        // Player 2 piece safety
+        pieces = pieces2 & ~((attacked1 & ~attacked2) | (attackedTwice1 & ~attackedTwice2));
+        while (pieces != 0) {
+            sq = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            p1eval -= .5 * lorentzValues[sq];
+        }
+
+        return (player == 1 ? p1eval : -p1eval);
+    }
+
+    private void recomputeProgress(int player) {
+        // The furthest pawn is the lowest (player 1) or highest (player 2) set bit
+        if (player == 1)
+            progress1 = 7 - Long.numberOfTrailingZeros(pieces1) / 8;
+        else if (player == 2)
+            progress2 = (63 - Long.numberOfLeadingZeros(pieces2)) / 8;
+    }
+
+    private int getLorentzPV(int player, int position) {
+        if (player == 2) {
+            return lorentzValues[position];
+        } else {
+            return lorentzValues[63 - position];
+        }
+    }
+
+    /**
+     * Samples a move for a playout with the board's random generator. With heuristics, a decisive or anti-decisive
+     * move is played if there is one, otherwise a capture, once a player has progressed to the 4th row. Else a piece
+     * is selected uniformly at random, and one of its moves by their playoutWeight.
+     */
+    public int getPlayoutMove(boolean heuristics) {
+        int p = playerToMove - 1;
+        long own = (p == 0) ? pieces1 : pieces2, opponent = (p == 0) ? pieces2 : pieces1;
+        if (heuristics && (progress1 >= 4 || progress2 >= 4)) {
+            // The targets of the moves of all pieces, in the order of generateExpandMoves
+            long empty = ~(pieces1 | pieces2), west, east, north;
+            int dWest, dEast, dNorth;
+            if (p == 0) {
+                west = ((own & ~FILE_A) >>> 9) & ~own;
+                east = ((own & ~FILE_H) >>> 7) & ~own;
+                north = (own >>> 8) & empty;
+                dWest = 9;
+                dEast = 7;
+                dNorth = 8;
+            } else {
+                west = ((own & ~FILE_A) << 7) & ~own;
+                east = ((own & ~FILE_H) << 9) & ~own;
+                north = (own << 8) & empty;
+                dWest = -7;
+                dEast = -9;
+                dNorth = -8;
+            }
+            int move;
+            if (progress1 >= 6 || progress2 >= 6) {
+                // Decisive moves reach the last row, anti-decisive moves capture from the home row
+                long last = lastRow[p];
+                move = sampleMove(west & last, dWest, east & last, dEast, north & last, dNorth);
+                if (move != NO_MOVE)
+                    return move;
+                long defence = defenceRow[p] & opponent;
+                move = sampleMove(west & defence, dWest, east & defence, dEast, 0, 0);
+                if (move != NO_MOVE)
+                    return move;
+            }
+            move = sampleMove(west & opponent, dWest, east & opponent, dEast, 0, 0);
+            if (move != NO_MOVE)
+                return move;
+        }
+        // Select a piece uniformly random and sample one of its moves
+        // This should remove any bias towards selecting pieces with more available moves
+        int nPieces = (p == 0) ? nPieces1 : nPieces2;
+        while (true) {
+            long pieces = own;
+            // Clear the lowest bits to find the square of the n-th piece
+            for (int n = random.nextInt(nPieces); n > 0; n--)
+                pieces &= pieces - 1;
+            int from = Long.numberOfTrailingZeros(pieces);
+            // Diagonal moves in order northwest, northeast, both may capture, and the forward move
+            long diagonals = diagonal[p][from] & ~own, ahead = forward[p][from] & ~(own | opponent);
+            if ((diagonals | ahead) == 0)
+                continue;
+            boolean threatened = heuristics && !isSafe(from, from, playerToMove);
+            int to1 = 0, to2 = 0, to3 = 0, w1 = 0, w2 = 0, w3 = 0;
+            if (diagonals != 0) {
+                to1 = Long.numberOfTrailingZeros(diagonals);
+                w1 = playoutWeight(from, to1, opponent, heuristics, threatened);
+                diagonals &= diagonals - 1;
+                if (diagonals != 0) {
+                    to2 = Long.numberOfTrailingZeros(diagonals);
+                    w2 = playoutWeight(from, to2, opponent, heuristics, threatened);
+                }
+            }
+            if (ahead != 0) {
+                to3 = Long.numberOfTrailingZeros(ahead);
+                w3 = playoutWeight(from, to3, opponent, heuristics, threatened);
+            }
+            int r = random.nextInt(w1 + w2 + w3);
+            if (r < w1)
+                return move(from, to1);
+            if (r < w1 + w2)
+                return move(from, to2);
+            return move(from, to3);
+        }
+    }
+
+    /**
+     * Samples one of the moves to the target squares uniformly, in the order of the squares, the targets are reached
+     * from the square at to + delta.
+     *
+     * @return The move, or NO_MOVE if there are no targets
+     */
+    private int sampleMove(long targets1, int delta1, long targets2, int delta2, long targets3, int delta3) {
+        int n1 = Long.bitCount(targets1), n2 = Long.bitCount(targets2), n = n1 + n2 + Long.bitCount(targets3);
+        if (n == 0)
+            return NO_MOVE;
+        int k = random.nextInt(n);
+        long targets = targets1;
+        int delta = delta1;
+        if (k >= n1 + n2) {
+            targets = targets3;
+            delta = delta3;
+            k -= n1 + n2;
+        } else if (k >= n1) {
+            targets = targets2;
+            delta = delta2;
+            k -= n1;
+        }
+        // Clear the lowest bits to find the k-th target
+        for (; k > 0; k--)
+            targets &= targets - 1;
+        int to = Long.numberOfTrailingZeros(targets);
+        return move(to + delta, to);
+    }
+
+    /**
+     * @return The weight of a move in a playout, 1 without heuristics. Captures and safe moves are preferred, more so
+     * if they move a threatened piece to safety.
+     */
+    private int playoutWeight(int from, int to, long opponent, boolean heuristics, boolean threatened) {
+        if (!heuristics)
+            return 1;
+        boolean capture = (opponent & (1L << to)) != 0;
+        int n = capture ? 2 : 1;
+        if (isSafe(to, from, playerToMove)) {
+            n += capture ? 6 : 3;
+            // Dodge move to avoid capture
+            if (threatened)
+                n += 3;
+        }
+        return n;
+    }
+
+    /**
+     * @return The player occupying the square, 0 if it is empty
+     */
+    private int occupant(int position) {
+        if (((pieces1 >>> position) & 1L) != 0)
+            return 1;
+        if (((pieces2 >>> position) & 1L) != 0)
+            return 2;
+        return 0;
+    }
+
+    public int checkWin() {
+        return winner;
+    }
+
+    public int getPlayerToMove() {
+        return playerToMove;
+    }
+
+    public long hash() {
+        return zbHash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        //
+        for (int r = 0; r < 8; r++) {
+            sb.append(rowLabels.charAt(r));
+            for (int c = 0; c < 8; c++) {
+                int player = occupant(r * 8 + c);
+                switch (player) {
+                    case 1:
+                        sb.append('w');
+                        break;
+                    case 2:
+                        sb.append('b');
+                        break;
+                    case 0:
+                        sb.append('.');
+                }
+            }
+            sb.append("\n");
+        }
+        sb.append(" ").append(colLabels).append("\n");
+        sb.append("\nPieces: (").append(nPieces1).append(", ").append(nPieces2)
+                .append(") nMoves: ").append(nMoves).append("\nProgress: ")
+                .append(progress1).append(", ").append(progress2).append("\nLorentz: ")
+                .append(lorentzPV1).append(" ").append(lorentzPV2);
+        return sb.toString();
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public Board clone() {
+        // The undo stack is not shared, the clone allocates its own when needed
+        Board b = new Board();
+        b.copyFrom(this);
+        b.random = random;
+        return b;
+    }
+
+    /**
+     * Set this board to the position of the other board, keeping the undo stack and random generator of this board.
+     * The moves made on the other board cannot be undone on this board.
+     */
+    public void copyFrom(Board other) {
+        pieces1 = other.pieces1;
+        pieces2 = other.pieces2;
+        nPieces1 = other.nPieces1;
+        nPieces2 = other.nPieces2;
+        nMoves = other.nMoves;
+        winner = other.winner;
+        progress1 = other.progress1;
+        progress2 = other.progress2;
+        lorentzPV1 = other.lorentzPV1;
+        lorentzPV2 = other.lorentzPV2;
+        playerToMove = other.playerToMove;
+        zbHash = other.zbHash;
+        undoSize = 0;
+        attacksValid = false;
+    }
+
+    private boolean isSafe(int position, int from, int player) {
+        // count immediate attackers and defenders, the moving piece does neither
+        updateAttacks();
+        long fromBit = 1L << from;
+        int attackers, defenders;
+        if (player == 1) {
+            attackers = count(attacked2, attackedTwice2, position) - bit(diagonal[0][position] & pieces2 & fromBit);
+            defenders = count(attacked1, attackedTwice1, position) - bit(diagonal[1][position] & pieces1 & fromBit);
+        } else {
+            attackers = count(attacked1, attackedTwice1, position) - bit(diagonal[1][position] & pieces1 & fromBit);
+            defenders = count(attacked2, attackedTwice2, position) - bit(diagonal[0][position] & pieces2 & fromBit);
+        }
+        return attackers <= defenders;
+    }
+
+    /**
+     * Derive the attack maps from the pieces, if a move was made or taken back since they were last derived
+     */
+    private void updateAttacks() {
+        if (attacksValid)
+            return;
+        // The diagonal steps of all pieces at once, as in generateExpandMoves
+        long west = (pieces1 & ~FILE_A) >>> 9, east = (pieces1 & ~FILE_H) >>> 7;
+        attacked1 = west | east;
+        attackedTwice1 = west & east;
+        west = (pieces2 & ~FILE_A) << 7;
+        east = (pieces2 & ~FILE_H) << 9;
+        attacked2 = west | east;
+        attackedTwice2 = west & east;
+        attacksValid = true;
+    }
+
+    /**
+     * @return The number of pieces attacking the square in the given attack maps
+     */
+    private static int count(long attacked, long attackedTwice, int position) {
+        return (int) ((attacked >>> position) & 1L) + (int) ((attackedTwice >>> position) & 1L);
+    }
+
+    private static int bit(long bitboard) {
+        return (bitboard != 0) ? 1 : 0;
+    }
+
+    public double npWinrate(int parentPlayer, int move) {
+        int to = to(move);
+        boolean safeMove = isSafe(to, from(move), parentPlayer);
+        double winRate;
+        if(safeMove) {
+            if(occupant(to) != 0) {
+                winRate = 0.6;
+            } else {
+                winRate = 0.2;
+            }
+        } else {
+            if(occupant(to) != 0) {
+                winRate = 0.1;
+            } else {
+                winRate = -0.1;
+            }
+        }
+        return winRate;
+    }
+
+    public double getQuality() {
+        if (winner == P1)
+            return ((double) (nPieces1 - nPieces2)) / (double) (16);
+        else if (winner == 2)
+            return ((double) (nPieces2 - nPieces1)) / (double) (16);
+        return 1;
+    }
+
+    public static String getMoveString(int move) {
+        int c = from(move) % 8, cp = to(move) % 8;
+        int r = from(move) / 8, rp = to(move) / 8;
+
+        char cc = (char) (c + 97);
+        char cpc = (char) (cp + 97);
+        return String.format("%c%d%c%d", cc, 8 - r, cpc, 8 - rp);
+    }
+
+    /**
+     * @return The move in the format of getMoveString, e.g. a2a3
+     */
+    public static int parseMove(String move) {
+        if (move.length() != 4)
+            throw new RuntimeException("Invalid move: " + move);
+        int c = move.charAt(0) - 'a', r = 8 - (move.charAt(1) - '0');
+        int cp = move.charAt(2) - 'a', rp = 8 - (move.charAt(3) - '0');
+        if (c < 0 || c > 7 || r < 0 || r > 7 || cp < 0 || cp > 7 || rp < 0 || rp > 7)
+            throw new RuntimeException("Invalid move: " + move);
+        return move(r * 8 + c, rp * 8 + cp);
+    }
+}
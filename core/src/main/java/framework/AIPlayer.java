@@ -0,0 +1,23 @@
+package framework;
+
+
+import breakthrough.game.Board;
+
+public interface AIPlayer {
+    void getMove(Board board);
+
+    void setOptions(Options options);
+
+    int getBestMove();
+
+    /**
+     * @return The statistics of the last search, or null if the player does not search
+     */
+    SearchStats getSearchStats();
+
+    /**
+     * Shut down the threads of the player, the player is not used afterwards
+     */
+    void close();
+}
+
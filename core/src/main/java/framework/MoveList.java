@@ -0,0 +1,37 @@
+package framework;
+
+public class MoveList {
+
+    private int[] moves;
+    private int size;
+
+    public MoveList(int maxSize) {
+        moves = new int[maxSize];
+        size = 0;
+    }
+
+    public void add(int move) {
+        if(moves.length <= size()) {
+            int[] movesNew = new int[size * 2];
+            System.arraycopy(moves, 0, movesNew, 0, moves.length);
+            moves = movesNew;
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,29 @@
+package framework;
+
+/**
+ * Created by Tom Pepels (tpepels@gmail.com) on 03/07/15.
+ */
+public class Options {
+    public double C = .4, shotC = 0.4, imAlpha = 0.1, etWv = 1.3, kq = 2.0, rf = 0.5;
+    public boolean debug = true, fixSimulations = false, timed = false,
+            heuristics = true, earlyTerm = true, solver = true,
+            nodePriors = false, imm = false, test = false, qualityBonus = false,
+            UBLB = false, regression = false, offHeapTT = false;
+    public int timeLimit = 10000, termDepth = 4, etT = 20, npVisits = 100, B = 20, rs = 1;
+    // The transposition table holds 2^ttBits states, ttReplace is one of BaseTransposTable.REPLACE_
+    public int ttBits = 22, ttReplace = 0;
+    // The UCT tree holds 2^nodeBits nodes, and grows up to 2^maxNodeBits nodes if it is not shared by tree parallel
+    // threads. When it is full the search continues without expanding
+    public int nodeBits = 20, maxNodeBits = 24;
+    // Number of search threads, in root parallel search every thread has its own tree and transposition table
+    public int threads = 1;
+    // With treeParallel the threads search one shared tree, a thread adds virtualLoss to the nodes on its path
+    public boolean treeParallel = false;
+    public int virtualLoss = 1;
+    // Play-outs per leaf, played by leafThreads worker threads or by the search thread itself if there are none
+    public int leafPlayouts = 1, leafThreads = 0;
+    // In parallel SHOT and H-MCTS, the arms of a round with at least forkBudget play-outs are searched by another thread
+    public int forkBudget = 1000;
+    // Time one in every profile events of each phase of the search, and record the play-outs, 0 for no profiling
+    public int profile = 0;
+}
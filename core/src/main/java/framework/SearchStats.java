@@ -0,0 +1,199 @@
+package framework;
+
+import breakthrough.game.Board;
+
+/**
+ * Statistics of the search for a single move. Every search thread counts in its own instance, the instances of the
+ * threads are added up at the end of the search.
+ * <p>
+ * With profiling on (Options.profile), one in every profile events of each phase is timed, and the lengths of the
+ * play-outs are recorded. Otherwise the profiling calls return after a single check.
+ */
+public class SearchStats {
+    public static final int SELECT = 0, EXPAND = 1, PLAYOUT = 2, BACKUP = 3, PHASES = 4;
+    private static final String[] PHASE_NAMES = {"select", "expand", "playout", "backup"};
+    // Play-outs of MAX_LENGTH moves or more are counted in the last bin of the histogram
+    public static final int MAX_LENGTH = 128;
+    public int player, move;
+    public int playouts, expansions, maxDepth, proofs;
+    // Arms removed from a SHOT round by UBLB
+    public int removals;
+    // Counters of the transposition table(s) during the search
+    public int ttRecoveries, ttCollisions, ttEvictions;
+    // Search time in ms, and the bytes allocated by the threads of the player during the search
+    public long time, allocatedBytes;
+    // :: Profiling, only allocated if profiling is on
+    private final int profile;
+    private long[] phaseEvents, phaseSamples, phaseNanos;
+    private int[] playoutLengths;
+    // Play-outs that were terminated early, and those of them that were decided by the evaluation
+    private int earlyTerminations, earlyDecided;
+
+    public SearchStats() {
+        this(0);
+    }
+
+    /**
+     * @param profile Time one in every profile events of each phase, 0 for no profiling
+     */
+    public SearchStats(int profile) {
+        this.profile = profile;
+        if (profile > 0) {
+            phaseEvents = new long[PHASES];
+            phaseSamples = new long[PHASES];
+            phaseNanos = new long[PHASES];
+            playoutLengths = new int[MAX_LENGTH + 1];
+        }
+    }
+
+    /**
+     * Add the counters of a search thread
+     */
+    public void add(SearchStats other) {
+        playouts += other.playouts;
+        expansions += other.expansions;
+        maxDepth = Math.max(maxDepth, other.maxDepth);
+        proofs += other.proofs;
+        removals += other.removals;
+        ttRecoveries += other.ttRecoveries;
+        ttCollisions += other.ttCollisions;
+        ttEvictions += other.ttEvictions;
+        allocatedBytes += other.allocatedBytes;
+        if (profile > 0 && other.profile > 0) {
+            for (int i = 0; i < PHASES; i++) {
+                phaseEvents[i] += other.phaseEvents[i];
+                phaseSamples[i] += other.phaseSamples[i];
+                phaseNanos[i] += other.phaseNanos[i];
+            }
+            for (int i = 0; i <= MAX_LENGTH; i++)
+                playoutLengths[i] += other.playoutLengths[i];
+            earlyTerminations += other.earlyTerminations;
+            earlyDecided += other.earlyDecided;
+        }
+    }
+
+    /**
+     * Record that the search reached the given depth
+     */
+    public void reached(int depth) {
+        if (depth > maxDepth)
+            maxDepth = depth;
+    }
+
+    /**
+     * Start a phase, should be followed by end with the returned value
+     *
+     * @return The start time if this event of the phase is timed, 0 otherwise
+     */
+    public long start(int phase) {
+        if (profile == 0 || ++phaseEvents[phase] % profile != 0)
+            return 0;
+        return System.nanoTime();
+    }
+
+    public void end(int phase, long start) {
+        if (start != 0) {
+            phaseNanos[phase] += System.nanoTime() - start;
+            phaseSamples[phase]++;
+        }
+    }
+
+    /**
+     * Record a play-out
+     *
+     * @param length      The number of moves played
+     * @param interrupted True if the play-out was terminated early
+     * @param decided     True if the evaluation of the early terminated play-out decided a winner
+     */
+    public void playedOut(int length, boolean interrupted, boolean decided) {
+        if (profile == 0)
+            return;
+        playoutLengths[Math.min(length, MAX_LENGTH)]++;
+        if (interrupted) {
+            earlyTerminations++;
+            if (decided)
+                earlyDecided++;
+        }
+    }
+
+    /**
+     * @return The estimated time spent in the phase in ns, the sampled time scaled to all events of the phase
+     */
+    public long getPhaseNanos(int phase) {
+        if (profile == 0 || phaseSamples[phase] == 0)
+            return 0;
+        return phaseNanos[phase] * phaseEvents[phase] / phaseSamples[phase];
+    }
+
+    /**
+     * @return The number of play-outs of each length, the last bin holds all of MAX_LENGTH moves or more
+     */
+    public int[] getPlayoutLengths() {
+        return playoutLengths;
+    }
+
+    public int playoutsPerSecond() {
+        return (time > 0) ? (int) Math.round((1000. * playouts) / time) : 0;
+    }
+
+    private int recordedPlayouts() {
+        int n = 0;
+        for (int l : playoutLengths)
+            n += l;
+        return n;
+    }
+
+    private double meanPlayoutLength() {
+        long sum = 0;
+        for (int i = 0; i <= MAX_LENGTH; i++)
+            sum += (long) i * playoutLengths[i];
+        return sum / (double) Math.max(1, recordedPlayouts());
+    }
+
+    /**
+     * @return The statistics as a single line JSON object
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"player\":").append(player).append(",\"move\":\"").append(Board.getMoveString(move))
+                .append("\",\"time\":").append(time).append(",\"playouts\":").append(playouts)
+                .append(",\"expansions\":").append(expansions).append(",\"maxDepth\":").append(maxDepth)
+                .append(",\"proofs\":").append(proofs).append(",\"ttRecoveries\":").append(ttRecoveries)
+                .append(",\"ttCollisions\":").append(ttCollisions).append(",\"ttEvictions\":").append(ttEvictions)
+                .append(",\"allocatedBytes\":").append(allocatedBytes);
+        if (profile > 0) {
+            sb.append(",\"phaseNanos\":{");
+            for (int i = 0; i < PHASES; i++)
+                sb.append(i > 0 ? "," : "").append('"').append(PHASE_NAMES[i]).append("\":").append(getPhaseNanos(i));
+            // The histogram up to the longest play-out
+            int n = MAX_LENGTH + 1;
+            while (n > 0 && playoutLengths[n - 1] == 0)
+                n--;
+            sb.append("},\"playoutLengths\":[");
+            for (int i = 0; i < n; i++)
+                sb.append(i > 0 ? "," : "").append(playoutLengths[i]);
+            sb.append("],\"earlyTerminations\":").append(earlyTerminations)
+                    .append(",\"earlyDecided\":").append(earlyDecided);
+        }
+        return sb.append('}').toString();
+    }
+
+    @Override
+    public String toString() {
+        String s = "Play-outs: " + playouts + " expansions: " + expansions + " max depth: " + maxDepth +
+                " proofs: " + proofs + "\n" +
+                "Searched for: " + (time / 1000.) + " s. " + playoutsPerSecond() + " playouts per s\n" +
+                ":: TT recoveries: " + ttRecoveries + " collisions: " + ttCollisions + " evictions: " + ttEvictions +
+                "\n" + "Allocated: " + (allocatedBytes >> 20) + " MB";
+        if (profile > 0) {
+            s += "\n:: Phases (ms)";
+            for (int i = 0; i < PHASES; i++)
+                s += " " + PHASE_NAMES[i] + ": " + getPhaseNanos(i) / 1000000;
+            int n = recordedPlayouts();
+            s += "\n:: Play-out length: " + String.format("%.1f", meanPlayoutLength()) + " early terminated: " +
+                    String.format("%.1f%%", 100. * earlyTerminations / Math.max(1, n)) + " of which decided: " +
+                    String.format("%.1f%%", 100. * earlyDecided / Math.max(1, earlyTerminations));
+        }
+        return s;
+    }
+}
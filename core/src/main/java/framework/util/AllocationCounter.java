@@ -0,0 +1,70 @@
+package framework.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Counts the bytes allocated by a set of threads, using the per thread allocation counters of the JVM. Returns 0 on a
+ * JVM that does not have them.
+ */
+public class AllocationCounter {
+    private static final com.sun.management.ThreadMXBean bean = allocationBean();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    private final List<Thread> started = new ArrayList<>();
+    private long[] start = new long[0];
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean b = (com.sun.management.ThreadMXBean) bean;
+            if (b.isThreadAllocatedMemorySupported() && b.isThreadAllocatedMemoryEnabled())
+                return b;
+        }
+        return null;
+    }
+
+    /**
+     * Count the allocations of a worker thread, may be called from the thread factory of a pool
+     */
+    public void register(Thread thread) {
+        threads.add(thread);
+    }
+
+    /**
+     * Start counting, the calling thread is counted until allocatedBytes is called
+     */
+    public void start() {
+        if (bean == null)
+            return;
+        threads.removeIf(t -> t.getState() == Thread.State.TERMINATED);
+        started.clear();
+        started.add(Thread.currentThread());
+        started.addAll(threads);
+        start = new long[started.size()];
+        for (int i = 0; i < start.length; i++)
+            start[i] = bean.getThreadAllocatedBytes(started.get(i).getId());
+    }
+
+    /**
+     * @return The bytes allocated since start, by the threads that are alive
+     */
+    public long allocatedBytes() {
+        if (bean == null)
+            return 0;
+        long bytes = 0, b;
+        for (int i = 0; i < start.length; i++) {
+            b = bean.getThreadAllocatedBytes(started.get(i).getId());
+            if (b >= 0 && start[i] >= 0)
+                bytes += b - start[i];
+        }
+        // Threads started by a pool during the search
+        for (Thread t : threads) {
+            if (!started.contains(t) && (b = bean.getThreadAllocatedBytes(t.getId())) > 0)
+                bytes += b;
+        }
+        return bytes;
+    }
+}
@@ -4,10 +4,14 @@ public class FastLog {
     // Stores a number of pre-computed logarithms
     private final static int N_LOGS = 200000;
     private final static double[] logs = new double[N_LOGS];
+    // The square roots of the logarithms, the exploration term of UCT
+    private final static double[] sqrtLogs = new double[N_LOGS];
 
     static {
-        for (int i = 0; i < logs.length; i++)
+        for (int i = 0; i < logs.length; i++) {
             logs[i] = Math.log(i);
+            sqrtLogs[i] = Math.sqrt(logs[i]);
+        }
     }
 
     public static double log(double i) {
@@ -15,4 +19,10 @@ public class FastLog {
             return Math.log(i);
         return logs[(int) i];
     }
+
+    public static double sqrtLog(double i) {
+        if (i >= N_LOGS)
+            return Math.sqrt(Math.log(i));
+        return sqrtLogs[(int) i];
+    }
 }
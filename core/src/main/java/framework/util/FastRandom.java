@@ -0,0 +1,53 @@
+package framework.util;
+
+import java.util.Random;
+
+/**
+ * Xorshift64* random generator. Unlike java.util.Random it is not thread-safe, which makes it a lot faster, every
+ * thread should use its own generator.
+ */
+public class FastRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private long x;     // Not initialized, it is set by the constructor of Random through setSeed
+
+    public FastRandom() {
+        this(System.nanoTime());
+    }
+
+    public FastRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        // Mix the seed (splitmix64), such that similar seeds give different sequences, the state may not be 0
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        x = (z == 0) ? 0x9E3779B97F4A7C15L : z;
+    }
+
+    private long nextLong64() {
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        return x * 0x2545F4914F6CDD1DL;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong64() >>> (64 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        return nextLong64();
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong64() >>> 11) * 0x1.0p-53;
+    }
+}
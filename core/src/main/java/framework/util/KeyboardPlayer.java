@@ -4,24 +4,25 @@ import breakthrough.game.Board;
 import framework.AIPlayer;
 import framework.MoveList;
 import framework.Options;
+import framework.SearchStats;
 
 import java.util.Scanner;
 
 public class KeyboardPlayer implements AIPlayer {
 
-    private int[] theMove;
+    private int theMove;
 
     public void getMove(Board board) {
         MoveList list = board.getExpandMoves(null);
-        theMove = null;
+        theMove = -1;
         try {
             Scanner scanner = new Scanner(System.in);
-            while (theMove == null) {
+            while (theMove == -1) {
                 System.out.print("Enter move: ");
                 String line = scanner.nextLine();
                 // Check if the move is valid
                 for (int i = 0; i < list.size(); i++) {
-                    int[] move = list.get(i);
+                    int move = list.get(i);
                     if (Board.getMoveString(move).equals(line)) {
                         theMove = move;
                         break;
@@ -38,8 +39,17 @@ public class KeyboardPlayer implements AIPlayer {
     }
 
     @Override
-    public int[] getBestMove() {
+    public int getBestMove() {
         return theMove;
     }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+    }
 }
 
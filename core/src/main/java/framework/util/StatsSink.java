@@ -0,0 +1,36 @@
+package framework.util;
+
+import framework.SearchStats;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
+/**
+ * Writes the statistics of every search as a line of JSON, shared by the games of a tournament
+ */
+public class StatsSink implements AutoCloseable {
+    private final PrintStream out;
+
+    public StatsSink(File file) {
+        try {
+            this.out = new PrintStream(new FileOutputStream(file, true));
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException("Cannot write the search statistics to " + file, e);
+        }
+    }
+
+    /**
+     * @param run The name of the game, written as the first field of the line
+     */
+    public synchronized void write(String run, SearchStats stats) {
+        String json = stats.toJson();
+        out.println("{\"run\":\"" + run + "\"," + json.substring(1));
+    }
+
+    @Override
+    public synchronized void close() {
+        out.close();
+    }
+}
@@ -0,0 +1,615 @@
+package mcts.H_MCTS;
+
+import breakthrough.game.Board;
+import framework.MoveList;
+import framework.Options;
+import framework.SearchStats;
+import framework.util.FastLog;
+import mcts.SHOT.ParallelRound;
+import mcts.transpos.ShotTransposTable;
+
+import java.text.DecimalFormat;
+import java.util.*;
+import java.util.concurrent.ForkJoinTask;
+
+public class HybridNode implements ParallelRound.Arm {
+    private static final double LOG2 = Math.log(2);
+    // The moves of the node being expanded, per thread since the nodes are shared by the threads of a parallel search
+    private static final ThreadLocal<MoveList> expandMoves =
+            ThreadLocal.withInitial(() -> new MoveList(Board.MAX_MOVES));
+    private boolean expanded = false, simulated = false;
+    // The children, and the arms still in the running as a permutation of the indices of C
+    private HybridNode[] C;
+    private int[] S;
+    private int sSize;
+    // The values of the children when the arms were last sorted
+    private double[] values;
+    private HybridNode bestArm;
+    private Options options;
+    private int player;
+    private int move;
+    private ShotTransposTable tt;
+    private long hash;
+    private int state;
+
+    public HybridNode(int player, int move, Options options, long hash, ShotTransposTable tt) {
+        this.player = player;
+        this.move = move;
+        this.options = options;
+        this.tt = tt;
+        this.hash = hash;
+        this.state = tt.getState(hash, true);
+    }
+
+    /**
+     * Run the MCTS algorithm on the given node
+     *
+     * @param stats The statistics of the search thread
+     */
+    public double HybridMCTS(Board board, int depth, int budget, double[] plStats, SearchStats stats) {
+        if (budget <= 0)
+            throw new RuntimeException("Budget is " + budget);
+        if (board.hash() != hash)
+            throw new RuntimeException("Incorrect hash");
+        // The best arm of a reused root is from a previous search
+        if (depth == 0)
+            bestArm = null;
+        //
+        double result;
+        HybridNode child = null;
+        // First add some nodes if required
+        if (isLeaf()) {
+            long t = stats.start(SearchStats.EXPAND);
+            child = expand(board, stats);
+            stats.end(SearchStats.EXPAND, t);
+        }
+
+        if (child != null) {
+            if (solverCheck(child.getValue(), stats))
+                return ShotTransposTable.INF;
+        }
+
+        int s = sSize;
+        // Node is terminal
+        if (isSolved()) {                           // Solver
+            return -getValue();
+        } else if (isTerminal()) {                  // No solver
+            // A draw
+            int winner = board.checkWin();
+            // 0: playouts, 1: player1, 2: player2, 3: budgetUsed
+            for (int i = 0; i < budget; i++) {
+                plStats[0]++;
+                plStats[winner]++;
+            }
+            plStats[3] += budget;
+            updateStats(plStats, stats);
+            stats.reached(depth);
+            return 0;
+        }
+        //
+        int init_s = sSize;
+        int b = getBudget((int)getBudgetNode(), budget, init_s, init_s);
+        // :: UCT Hybrid
+        if (depth > 0 && b < options.B) {
+            // Run UCT budget times
+            for (int i = 0; i < budget; i++) {
+                double[] pl = {0, 0, 0, 0};
+                result = UCT(board, depth, pl, stats);
+                // 0: playouts, 1: player1, 2: player2, 3: budgetUsed
+                plStats[0] += pl[0];
+                plStats[1] += pl[1];
+                plStats[2] += pl[2];
+                plStats[3] += pl[3];
+                // :: Solver
+                if (Math.abs(result) == ShotTransposTable.INF)
+                    return result;
+            }
+            return 0;
+        }
+        // Sort S such that the best node is always the first
+        if (getVisits() > sSize) {
+            long t = stats.start(SearchStats.SELECT);
+            sortArms(sSize);
+            stats.end(SearchStats.SELECT, t);
+        }
+        // :: Cycle
+        do {
+            int n = 0, b_s = 0;
+            if (options.threads > 1 && b >= options.forkBudget && ForkJoinTask.inForkJoinPool()) {
+                // :: Parallel round, the budgets are assigned up front and the arms are searched concurrently.
+                // The subtree of an arm, including its UCT part, is searched by a single thread.
+                ParallelRound round = new ParallelRound(s);
+                // :: SR Back propagation
+                updateStats(round.search(C, S, sSize, b, budget, board, depth, plStats, options, stats), stats);
+                int[] b_b = round.budgets;
+                double[][] pl = round.pl;
+                double[] results = round.results;
+                for (n = 0; n < s; n++) {
+                    child = C[S[n]];
+                    if (child.isSolved()) {
+                        // The node is already solved
+                        results[n] = child.getValue();
+                    }
+                    // :: Solver
+                    if (Math.abs(results[n]) == ShotTransposTable.INF) {
+                        if (solverCheck(results[n], stats)) {
+                            if (results[n] == ShotTransposTable.INF)
+                                bestArm = child;
+                            updateBudgetSpent(plStats[3]);
+                            return results[n];
+                        } else if (pl[n] != null) {
+                            // Redistribute the unspent budget in the next round
+                            b_s += b_b[n] - pl[n][3];
+                        }
+                    }
+                }
+                n = s;
+            }
+            // :: Round
+            while (n < s) {
+                child = C[S[n++]];
+                double[] pl = {0, 0, 0, 0};    // This will store the results of the recursion
+                int b_b = 0;                // This is the actual budget assigned to the child
+                result = 0;
+                // :: Solver win
+                if (!child.isSolved()) {
+                    // :: Actual budget
+                    int b1 = (int) (b - child.getVisits());
+                    if (s == 2 && n == 1 && sSize > 1)
+                        b1 = (int) Math.max(b1, budget - plStats[3] - (b - C[S[1]].getVisits()));
+                    b_b = Math.min(b1, (int) (budget - plStats[3]));
+                    if (b_b <= 0)
+                        continue;
+                    // :: Recursion
+                    board.doMove(child.getMove(), options.earlyTerm);
+                    result = -child.HybridMCTS(board, depth + 1, b_b, pl, stats);
+                    board.undoMove();
+                    // 0: playouts, 1: player1, 2: player2, 3: budgetUsed
+                    plStats[0] += pl[0];
+                    plStats[1] += pl[1];
+                    plStats[2] += pl[2];
+                    plStats[3] += pl[3];
+                    // :: SR Back propagation
+                    updateStats(pl, stats);
+                }
+                if (child.isSolved()) {
+                    // The node is already solved
+                    result = child.getValue();
+                }
+                // :: Solver
+                if (Math.abs(result) == ShotTransposTable.INF) {
+                    if (solverCheck(result, stats)) {   // Returns true if node is solved
+                        if (result == ShotTransposTable.INF)
+                            bestArm = child;
+                        // Update the budgetSpent
+                        updateBudgetSpent(plStats[3]);
+                        return result;
+                    } else {
+                        // Redistribute the unspent budget in the next round
+                        b_s += b_b - pl[3];
+                    }
+                }
+                // Make sure we don't go over budget
+                if (plStats[3] >= budget)
+                    break;
+            }
+            if (options.solver) {
+                removeSolvedArms();
+            }
+            // :: Removal policy: Sorting
+            if (sSize > 0) {
+                long t = stats.start(SearchStats.SELECT);
+                sortArms(Math.min(s, sSize));
+                stats.end(SearchStats.SELECT, t);
+            }
+            // :: Removal policy: Reduction
+            s -= (int) Math.floor(s / 2.);
+            // For the solver
+            s = Math.min(sSize, s);
+            //
+            if (s == 1)
+                b += budget - plStats[3];
+            else {
+                b += getBudget((int)getBudgetNode(), budget, s, init_s); // Use the original size of S here
+                // Add any skipped budget from this round
+                b += Math.ceil(b_s / (double) s);
+            }
+        } while (s > 1 && plStats[3] < budget);
+
+        // Update the budgetSpent value
+        updateBudgetSpent(plStats[3]);
+        // :: Final arm selection
+        if (sSize > 0)
+            bestArm = C[S[0]];
+        return 0;
+    }
+
+    @Override
+    public double search(Board board, int depth, int budget, double[] plStats, SearchStats stats) {
+        return HybridMCTS(board, depth, budget, plStats, stats);
+    }
+
+    private int getBudget(int initVis, int budget, int subS, int totS) {
+        return (int) Math.max(1, Math.floor((initVis + budget) / (subS * Math.ceil(Math.log(totS) / LOG2))));
+    }
+
+    private boolean solverCheck(double result, SearchStats stats) {
+        if (!options.solver)
+            return false;
+        // (Solver) If one of the children is a win, then I'm a loss for the opponent
+        if (result == ShotTransposTable.INF) {
+            setSolved(false);
+            stats.proofs++;
+            return true;
+        } else if (result == -ShotTransposTable.INF) {
+            boolean allSolved = true;
+            // (Solver) Check if all children are a loss
+            for (HybridNode tn : C) {
+                // Are all children a loss?
+                if (tn.getValue() != result) {
+                    allSolved = false;
+                }
+            }
+            // (Solver) If all children lead to a loss for me, then I'm a win for the opponent
+            if (allSolved) {
+                setSolved(true);
+                stats.proofs++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double UCT(Board board, int depth, double[] plStats, SearchStats stats) {
+        HybridNode child = null;
+        if (isLeaf()) {
+            long t = stats.start(SearchStats.EXPAND);
+            child = expand(board, stats);
+            stats.end(SearchStats.EXPAND, t);
+        }
+        double result;
+        if (child == null) {
+            if (isTerminal()) {
+                // A draw
+                int winner = board.checkWin();
+                // 0: playouts, 1: player1, 2: player2, 3: budgetUsed
+                plStats[0]++;
+                plStats[winner]++;
+                updateStats(plStats, stats);
+                updateBudgetSpent(1);
+                stats.reached(depth);
+                return 0;
+            }
+            long t = stats.start(SearchStats.SELECT);
+            child = uct_select(board.getRandom());
+            stats.end(SearchStats.SELECT, t);
+        }
+        // (Solver) Check for proven win / loss / draw
+        if (!child.isSolved()) {
+            board.doMove(child.getMove(), options.earlyTerm);
+            if (!child.simulated) {
+                // :: Play-out
+                result = child.playOut(board, stats);
+                plStats[0]++;
+                plStats[3]++;
+                // 0: playouts, 1: player1, 2: player2
+                if(result != Board.NONE_WIN)
+                    plStats[(int) result]++;
+                child.updateStats(plStats, stats);
+                child.updateBudgetSpent(1);
+                child.simulated = true;
+                stats.reached(depth + 1);
+            } else // :: Recursion
+                result = -child.UCT(board, depth + 1, plStats, stats);
+            board.undoMove();
+        } else {
+            result = child.getValue();
+        }
+        // :: Solver for UCT tree
+        if (Math.abs(result) == ShotTransposTable.INF) {
+            boolean solved = solverCheck(result, stats);
+            if (result == -ShotTransposTable.INF && !solved) { // Not all arms are losses
+                plStats[0]++;
+                plStats[3 - player]++;
+                updateStats(plStats, stats);
+                return 0;
+            } else                                    // Node is solved
+                return result;
+        }
+        // :: Update
+        updateStats(plStats, stats);
+        updateBudgetSpent(1);
+        return 0;
+    }
+
+    private HybridNode uct_select(Random r) {
+        // Otherwise apply the selection policy
+        HybridNode selected = null;
+        double max = Double.NEGATIVE_INFINITY;
+        // Use UCT down the tree
+        double uctValue, np = getVisits();
+        if(options.nodePriors) {
+            np = 0;
+            for (HybridNode c : C) {
+                np += c.getVisits();
+            }
+        }
+        // Select a child according to the UCT Selection policy
+        for (HybridNode c : C) {
+            long st = c.readStats();
+            double value = ShotTransposTable.statsMean(st), nc = ShotTransposTable.statsVisits(st);
+            // Always select a proven win
+            if (value == ShotTransposTable.INF)
+                uctValue = ShotTransposTable.INF + r.nextDouble();
+            else if (nc == 0 && value != -ShotTransposTable.INF) {
+                // First, visit all children at least once
+                uctValue = 100. + r.nextDouble();
+            } else if (value == -ShotTransposTable.INF) {
+                uctValue = -ShotTransposTable.INF + r.nextDouble();
+            } else {
+                // Compute the uct value with the (new) average value
+                uctValue = value + options.C * Math.sqrt(FastLog.log(np + 1.) / nc);
+            }
+            // Remember the highest UCT value
+            if (uctValue > max) {
+                selected = c;
+                max = uctValue;
+            }
+        }
+        return selected;
+    }
+
+    private HybridNode expand(Board board, SearchStats stats) {
+        expanded = true;
+        int winner = board.checkWin();
+        int nextPlayer = 3 - board.getPlayerToMove();
+        // If one of the nodes is a win, we don't have to select
+        HybridNode winNode = null;
+        // Generate all moves
+        MoveList moves = board.getExpandMoves(expandMoves.get(), null);
+        int n = (winner == Board.NONE_WIN) ? moves.size() : 0;
+        C = new HybridNode[n];
+        S = new int[n];
+        values = new double[n];
+        sSize = n;
+        // Board is terminal, don't expand
+        if (winner != Board.NONE_WIN)
+            return null;
+        stats.expansions++;
+        // Add all moves as children to the current node
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            // The child's hash is computed incrementally, the move itself is not made
+            HybridNode child = new HybridNode(nextPlayer, move, options, board.hashAfter(move), tt);
+            if (options.solver && !child.isSolved()) {
+                // Check for a winner, (Solver)
+                if (board.isWinningMove(move)) {
+                    winNode = child;
+                    child.setSolved(true);
+                    stats.proofs++;
+                }
+            }
+            if(!child.isSolved() && options.nodePriors && child.getVisits() == 0) {
+                double npRate = board.npWinrate(player, child.move);
+                int childState = child.getState(false);
+                if (childState != ShotTransposTable.NONE)
+                    tt.init(childState, (int) (npRate * options.npVisits), player, options.npVisits);
+            }
+            //
+            C[i] = child;
+            S[i] = i;
+        }
+        // If one of the nodes is a win, return it.
+        return winNode;
+    }
+
+    /**
+     * Sort the first k arms by their value, best first. The values are read once, so the order is consistent while
+     * other threads update the transposition table. The sort is stable.
+     */
+    private void sortArms(int k) {
+        for (int i = 0; i < k; i++)
+            values[S[i]] = C[S[i]].getValue();
+        for (int i = 1; i < k; i++) {
+            int arm = S[i], j = i - 1;
+            double v = values[arm];
+            for (; j >= 0 && Double.compare(v, values[S[j]]) > 0; j--)
+                S[j + 1] = S[j];
+            S[j + 1] = arm;
+        }
+    }
+
+    /**
+     * Remove the solved arms from S, keeping the order of the others
+     */
+    private void removeSolvedArms() {
+        int k = 0;
+        for (int i = 0; i < sSize; i++) {
+            if (!C[S[i]].isSolved())
+                S[k++] = S[i];
+        }
+        sSize = k;
+    }
+
+    private int playOut(Board board, SearchStats stats) {
+        long t = stats.start(SearchStats.PLAYOUT);
+        // Incrementally remove the stale transpositions, every search thread counts its own play-outs
+        if (++stats.playouts % ShotTransposTable.SWEEP_INTERVAL == 0)
+            tt.sweep();
+        int winner = board.checkWin(), nMoves = 0;
+        int move;
+        boolean interrupted = false;
+        while (winner == Board.NONE_WIN && !interrupted) {
+            move = board.getPlayoutMove(options.heuristics);
+            board.doMove(move, options.earlyTerm);
+            winner = board.checkWin();
+            nMoves++;
+            if (winner == Board.NONE_WIN && options.earlyTerm && nMoves == options.termDepth)
+                interrupted = true;
+        }
+
+        if (interrupted) {
+            double eval = board.evaluate(player, options.test);
+            //System.out.println(eval);
+            if (eval > options.etT)
+                winner = player;
+            else if (eval < -options.etT)
+                winner = 3 - player;
+        }
+        stats.playedOut(nMoves, interrupted, winner != Board.NONE_WIN);
+        // Restore the board to the state before the playout
+        for (; nMoves > 0; nMoves--)
+            board.undoMove();
+        stats.end(SearchStats.PLAYOUT, t);
+        return winner;
+    }
+
+
+    public HybridNode selectBestMove(Random r) {
+        // For debugging, print the nodes
+        if (options.debug) {
+            for (int i = 0; i < (sSize == 0 ? C.length : sSize); i++)
+                System.out.println(sSize == 0 ? C[i] : C[S[i]]);
+        }
+        if (bestArm != null)
+            return bestArm;
+        // Select from the non-solved arms
+        HybridNode bestChild = null;
+        double value;
+        double max = Double.NEGATIVE_INFINITY;
+        for (HybridNode t : C) {
+            if (t.getValue() == ShotTransposTable.INF)
+                value = ShotTransposTable.INF + r.nextDouble();
+            else if (t.getValue() == -ShotTransposTable.INF)
+                value = -ShotTransposTable.INF + t.getVisits() + r.nextDouble();
+            else {
+                // Select the child with the highest value
+                value = t.getValue();
+            }
+            if (value > max) {
+                max = value;
+                bestChild = t;
+            }
+        }
+        if (bestChild == null)
+            throw new NullPointerException("bestChild is null, root has " + C.length + " children");
+        return bestChild;
+    }
+
+    public boolean isLeaf() {
+        return C == null || !expanded;
+    }
+
+    public boolean isTerminal() {
+        return expanded && C != null && C.length == 0;
+    }
+
+    private void updateBudgetSpent(double n) {
+        int s = getState(false);
+        // The shared transposition table may have no room for the state
+        if (s != ShotTransposTable.NONE)
+            tt.incrBudgetSpent(s, n);
+    }
+
+    private void updateStats(double[] plStats, SearchStats stats) {
+        long t = stats.start(SearchStats.BACKUP);
+        int s = getState(false);
+        if (s != ShotTransposTable.NONE)
+            tt.updateStats(s, plStats[0], plStats[1], plStats[2]);
+        stats.end(SearchStats.BACKUP, t);
+    }
+
+    private double getBudgetNode() {
+        int s = getState(true);
+        if (s == ShotTransposTable.NONE)
+            return 0;
+        return tt.getBudgetSpent(s);
+    }
+
+    private void setSolved(boolean win) {
+        int s = getState(false);
+        if (s == ShotTransposTable.NONE)
+            return;
+        if (win)
+            tt.setSolved(s, 3 - player);
+        else
+            tt.setSolved(s, player);
+    }
+
+    /**
+     * @param existingOnly If false the state is updated next, and is pinned in a shared transposition table
+     * @return The handle of the state, the field is read once since it is shared by the threads in parallel H-MCTS
+     */
+    private int getState(boolean existingOnly) {
+        int s = state;
+        if (!(existingOnly ? tt.isState(s, hash) : tt.pin(s, hash)))
+            state = s = tt.getState(hash, existingOnly);
+        return s;
+    }
+
+    /**
+     * @return The value of this node with respect its parent
+     */
+    private double getValue() {
+        int s = getState(true);
+        if (s == ShotTransposTable.NONE)
+            return 0.;
+        return tt.getMean(s, 3 - player);
+    }
+
+    /**
+     * @return The number of visits of the transposition
+     */
+    public double getVisits() {
+        int s = getState(true);
+        if (s == ShotTransposTable.NONE)
+            return 0.;
+        return tt.getVisits(s);
+    }
+
+    /**
+     * Read the value of this node with respect to its parent and the visits of the transposition together, with a
+     * single lock of a shared transposition table
+     *
+     * @return The value and the visits packed by ShotTransposTable.getStats, both 0 if the state is not in the table
+     */
+    private long readStats() {
+        long st = tt.getStats(state, hash, 3 - player);
+        if (st != ShotTransposTable.NO_STATS)
+            return st;
+        int s = state = tt.getState(hash, true);
+        st = tt.getStats(s, hash, 3 - player);
+        return (st != ShotTransposTable.NO_STATS) ? st : 0L;
+    }
+
+    public boolean isSolved() {
+        return Math.abs(getValue()) == ShotTransposTable.INF;
+    }
+
+    /**
+     * @return The child with the given hash, or null if it is not in the tree
+     */
+    public HybridNode getChild(long hash) {
+        if (C == null)
+            return null;
+        for (HybridNode c : C) {
+            if (c.hash == hash)
+                return c;
+        }
+        return null;
+    }
+
+    public int getMove() {
+        return move;
+    }
+
+    @Override
+    public String toString() {
+        DecimalFormat df2 = new DecimalFormat("##0.####");
+        if (tt.isState(state, hash)) {
+            return Board.getMoveString(move) + "\t" + tt.toString(state) + "\tv:" + df2.format(getValue()) + "\tn: " + tt.getBudgetSpent(state);
+        } else {
+            return Board.getMoveString(move);
+        }
+    }
+}
\ No newline at end of file
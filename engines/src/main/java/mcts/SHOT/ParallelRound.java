@@ -0,0 +1,113 @@
+package mcts.SHOT;
+
+import breakthrough.game.Board;
+import framework.Options;
+import framework.SearchStats;
+import framework.util.FastRandom;
+
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A round of sequential halving whose arms are searched concurrently by the threads of the fork/join pool. The budgets
+ * are assigned up front, the arms with a large budget are searched on a copy of the board in another thread and the
+ * others by the calling thread. Shared by parallel SHOT and H-MCTS.
+ */
+public class ParallelRound {
+
+    /**
+     * An arm of the round, the values are read from the shared transposition table
+     */
+    public interface Arm {
+        boolean isSolved();
+
+        double getVisits();
+
+        int getMove();
+
+        /**
+         * Search the arm, the move of the arm is made on the board
+         *
+         * @return The value of the arm with respect to its parent
+         */
+        double search(Board board, int depth, int budget, double[] plStats, SearchStats stats);
+    }
+
+    // The budget assigned to each arm, 0 if it was not searched
+    public final int[] budgets;
+    // 0: playouts, 1: player1, 2: player2, 3: budgetUsed, per searched arm
+    public final double[][] pl;
+    // The value of each searched arm with respect to the parent
+    public final double[] results;
+    private final ForkJoinTask<?>[] tasks;
+    private final SearchStats[] armStats;
+
+    public ParallelRound(int s) {
+        budgets = new int[s];
+        pl = new double[s][];
+        results = new double[s];
+        tasks = new ForkJoinTask<?>[s];
+        armStats = new SearchStats[s];
+    }
+
+    /**
+     * Search the first s arms of S, and merge their play-outs into plStats and their statistics into stats
+     *
+     * @param b      The budget per arm in this round, including the visits of the arm
+     * @param budget The budget of the parent
+     * @return The play-outs of the round, to be backed up in the parent
+     */
+    public double[] search(Arm[] C, int[] S, int sSize, int b, int budget, Board board, int depth,
+                           double[] plStats, Options options, SearchStats stats) {
+        int s = budgets.length;
+        int assigned = (int) plStats[3];
+        for (int n = 0; n < s; n++) {
+            Arm child = C[S[n]];
+            if (child.isSolved())
+                continue;
+            // :: Actual budget
+            int b1 = (int) (b - child.getVisits());
+            if (s == 2 && n == 0 && sSize > 1)
+                b1 = (int) Math.max(b1, budget - assigned - (b - C[S[1]].getVisits()));
+            budgets[n] = Math.max(0, Math.min(b1, budget - assigned));
+            if (budgets[n] == 0)
+                continue;
+            assigned += budgets[n];
+            pl[n] = new double[]{0, 0, 0, 0};
+            if (budgets[n] >= options.forkBudget) {
+                // Search the arm on a copy of the board in another thread of the pool
+                Board copy = board.clone();
+                copy.setRandom(new FastRandom(board.getRandom().nextLong()));
+                copy.doMove(child.getMove(), options.earlyTerm);
+                int i = n;
+                armStats[i] = new SearchStats(options.profile);
+                tasks[i] = ForkJoinTask.adapt(() -> {
+                    results[i] = -child.search(copy, depth + 1, budgets[i], pl[i], armStats[i]);
+                }).fork();
+            }
+        }
+        // The arms with a small budget are searched by this thread
+        for (int n = 0; n < s; n++) {
+            if (budgets[n] == 0 || tasks[n] != null)
+                continue;
+            Arm child = C[S[n]];
+            board.doMove(child.getMove(), options.earlyTerm);
+            results[n] = -child.search(board, depth + 1, budgets[n], pl[n], stats);
+            board.undoMove();
+        }
+        // :: Round barrier, merge the results of all arms before the solver can end the search
+        double[] total = {0, 0, 0, 0};
+        for (int n = 0; n < s; n++) {
+            if (tasks[n] != null) {
+                tasks[n].join();
+                stats.add(armStats[n]);
+            }
+            if (budgets[n] == 0)
+                continue;
+            for (int j = 0; j < total.length; j++)
+                total[j] += pl[n][j];
+        }
+        for (int j = 0; j < total.length; j++)
+            plStats[j] += total[j];
+        return total;
+    }
+}
@@ -3,26 +3,34 @@ package mcts.SHOT;
 import breakthrough.game.Board;
 import framework.MoveList;
 import framework.Options;
+import framework.SearchStats;
 import framework.util.FastLog;
-import mcts.transpos.ShotState;
 import mcts.transpos.ShotTransposTable;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinTask;
 
-public class SHOTNode {
+public class SHOTNode implements ParallelRound.Arm {
     private static final double LOG2 = Math.log(2);
-    public static int removeCount = 0;
+    // The moves of the node being expanded, per thread since the nodes are shared by the threads of a parallel search
+    private static final ThreadLocal<MoveList> expandMoves =
+            ThreadLocal.withInitial(() -> new MoveList(Board.MAX_MOVES));
     private boolean expanded = false, simulated = false;
-    private List<SHOTNode> C, S;
+    // The children, and the arms still in the running as a permutation of the indices of C
+    private SHOTNode[] C;
+    private int[] S;
+    private int sSize;
+    // The values of the children when the arms were last sorted
+    private double[] values;
     private SHOTNode bestArm;
     private Options options;
     private int player;
-    private int[] move;
+    private int move;
     private ShotTransposTable tt;
     private long hash;
-    private ShotState state;
+    private int state;
 
-    public SHOTNode(int player, int[] move, Options options, long hash, ShotTransposTable tt) {
+    public SHOTNode(int player, int move, Options options, long hash, ShotTransposTable tt) {
         this.player = player;
         this.move = move;
         this.options = options;
@@ -33,24 +41,32 @@ public class SHOTNode {
 
     /**
      * Run the MCTS algorithm on the given node
+     *
+     * @param stats The statistics of the search thread
      */
-    public double SHOT(Board board, int depth, int budget, double[] plStats) {
+    public double SHOT(Board board, int depth, int budget, double[] plStats, SearchStats stats) {
         if (budget <= 0)
             throw new RuntimeException("Budget is " + budget);
         if (board.hash() != hash)
             throw new RuntimeException("Incorrect hash");
+        // The best arm of a reused root is from a previous search
+        if (depth == 0)
+            bestArm = null;
         double result;
         SHOTNode child = null;
         // First add some nodes if required
-        if (isLeaf())
-            child = expand(board);
+        if (isLeaf()) {
+            long t = stats.start(SearchStats.EXPAND);
+            child = expand(board, stats);
+            stats.end(SearchStats.EXPAND, t);
+        }
 
         if (child != null) {
-            if (solverCheck(child.getValue()))
-                return ShotState.INF;
+            if (solverCheck(child.getValue(), stats))
+                return ShotTransposTable.INF;
         }
 
-        int s = S.size();
+        int s = sSize;
         // Node is terminal
         if (isSolved()) {                           // Solver
             return -getValue();
@@ -63,29 +79,33 @@ public class SHOTNode {
                 plStats[winner]++;
             }
             plStats[3] += budget;
-            updateStats(plStats);
+            updateStats(plStats, stats);
+            stats.reached(depth);
             return 0;
         }
 
         if (budget == 1) {
-            result = playOut(board);
+            result = playOut(board, stats);
+            stats.reached(depth);
             // 0: playouts, 1: player1, 2: player2, 3: budgetUsed
             plStats[0]++;
             plStats[3]++;
             if (result != Board.NONE_WIN)
                 plStats[(int) result]++;
-            updateStats(plStats);
+            updateStats(plStats, stats);
             return 0;
         }
         // The current node has some unvisited children
-        if (getBudgetNode() <= S.size()) {
-            for (SHOTNode n : S) {
+        if (getBudgetNode() <= sSize) {
+            for (int i = 0; i < sSize; i++) {
+                SHOTNode n = C[S[i]];
                 if (n.simulated || n.isSolved())
                     continue;
-                Board tempBoard = board.clone();
                 // Perform play-outs on all unvisited children
-                tempBoard.doMove(n.getMove(), options.earlyTerm);
-                result = n.playOut(tempBoard);
+                board.doMove(n.getMove(), options.earlyTerm);
+                result = n.playOut(board, stats);
+                board.undoMove();
+                stats.reached(depth + 1);
                 //
                 double[] pl = {1, 0, 0, 0};
                 if (result != Board.NONE_WIN)
@@ -96,8 +116,8 @@ public class SHOTNode {
                 plStats[2] += pl[2];
                 plStats[3]++;
                 // Update the child and current node
-                n.updateStats(pl);
-                updateStats(pl);
+                n.updateStats(pl, stats);
+                updateStats(pl, stats);
                 // Increase the budget spent for the node
                 updateBudgetSpent(pl[3]);
                 // Don't go over budget
@@ -106,15 +126,15 @@ public class SHOTNode {
             }
         }
         // Don't start any rounds if there is only 1 child
-        if (S.size() == 1) {
+        if (sSize == 1) {
             double[] pl = {0, 0, 0, 0};
-            child = S.get(0);
+            child = C[S[0]];
             result = 0;
             if (!child.isSolved()) {
                 // :: Recursion
-                Board tempBoard = board.clone();
-                tempBoard.doMove(child.getMove(), options.earlyTerm);
-                result = -child.SHOT(tempBoard, depth + 1, budget, pl);
+                board.doMove(child.getMove(), options.earlyTerm);
+                result = -child.SHOT(board, depth + 1, budget, pl, stats);
+                board.undoMove();
                 // 0: playouts, 1: player1, 2: player2, 3: budgetUsed
                 plStats[0] += pl[0];
                 plStats[1] += pl[1];
@@ -125,34 +145,36 @@ public class SHOTNode {
                 result = child.getValue();
             }
             // The only arm is the best
-            bestArm = S.get(0);
+            bestArm = C[S[0]];
             // :: Solver
-            if (Math.abs(result) == ShotState.INF)
-                solverCheck(result);
+            if (Math.abs(result) == ShotTransposTable.INF)
+                solverCheck(result, stats);
             else
-                updateStats(pl);
+                updateStats(pl, stats);
             // Increase the budget spent for the node
             updateBudgetSpent(pl[3]);
             //
             return result;
         }
         //
-        int init_s = S.size();
+        int init_s = sSize;
 
         // Sort S such that the best node is always the first
         if (init_s > 1 && getVisits() > init_s) {
-            Collections.sort(S, comparator);
+            long t = stats.start(SearchStats.SELECT);
+            sortArms(sSize);
+            stats.end(SearchStats.SELECT, t);
 
 //            // :: UBLB
 //            if (options.UBLB) {
-//                double ub, lb = S.get(0).getValue() - options.shotC *
-//                        Math.sqrt(FastLog.log(getVisits()) / S.get(0).getVisits());
+//                double ub, lb = C[S[0]].getValue() - options.shotC *
+//                        Math.sqrt(FastLog.log(getVisits()) / C[S[0]].getVisits());
 //                for (int i = s - 1; i > 0; i--) {
-//                    ub = S.get(i).getValue() + options.shotC *
-//                            Math.sqrt(FastLog.log(getVisits()) / S.get(i).getVisits());
+//                    ub = C[S[i]].getValue() + options.shotC *
+//                            Math.sqrt(FastLog.log(getVisits()) / C[S[i]].getVisits());
 //                    if (ub < lb) {
 //                        init_s--;
-//                        removeCount++;
+//                        stats.removals++;
 //                    } else
 //                        // All nodes before this one have overlapping bounds with the best
 //                        break;
@@ -165,42 +187,72 @@ public class SHOTNode {
         // :: Cycle
         do {
             int n = 0, b_s = 0;
+            if (options.threads > 1 && b >= options.forkBudget && ForkJoinTask.inForkJoinPool()) {
+                // :: Parallel round, the budgets are assigned up front and the arms are searched concurrently
+                ParallelRound round = new ParallelRound(s);
+                updateStats(round.search(C, S, sSize, b, budget, board, depth, plStats, options, stats), stats);
+                int[] b_b = round.budgets;
+                double[][] pl = round.pl;
+                double[] results = round.results;
+                for (n = 0; n < s; n++) {
+                    child = C[S[n]];
+                    if (b_b[n] == 0) {
+                        if (!child.isSolved())
+                            continue;
+                        // The node is already solved
+                        results[n] = child.getValue();
+                    }
+                    // :: Solver
+                    if (Math.abs(results[n]) == ShotTransposTable.INF) {
+                        if (solverCheck(results[n], stats)) {
+                            if (results[n] == ShotTransposTable.INF)
+                                bestArm = child;
+                            updateBudgetSpent(plStats[3]);
+                            return results[n];
+                        } else if (pl[n] != null) {
+                            // Redistribute the unspent budget in the next round
+                            b_s += b_b[n] - pl[n][3];
+                        }
+                    }
+                }
+                n = s;
+            }
             // :: Round
             while (n < s) {
-                child = S.get(n++);
+                child = C[S[n++]];
                 int b_b = 0;                    // This is the actual budget assigned to the child
                 double[] pl = {0, 0, 0, 0};    // This will store the results of the recursion per node
                 // :: Solver win
                 if (!child.isSolved()) {
                     // :: Actual budget
                     int b1 = (int) (b - child.getVisits());
-                    if (s == 2 && n == 1 && S.size() > 1)
-                        b1 = (int) Math.max(b1, budget - plStats[3] - (b - S.get(1).getVisits()));
+                    if (s == 2 && n == 1 && sSize > 1)
+                        b1 = (int) Math.max(b1, budget - plStats[3] - (b - C[S[1]].getVisits()));
                     b_b = Math.min(b1, (int) (budget - plStats[3]));
                     if (b_b <= 0)
                         continue;
                     // :: Recursion
-                    Board tempBoard = board.clone();
-                    tempBoard.doMove(child.getMove(), options.earlyTerm);
-                    result = -child.SHOT(tempBoard, depth + 1, b_b, pl);
+                    board.doMove(child.getMove(), options.earlyTerm);
+                    result = -child.SHOT(board, depth + 1, b_b, pl, stats);
+                    board.undoMove();
                     //
                     plStats[0] += pl[0];
                     plStats[1] += pl[1];
                     plStats[2] += pl[2];
                     plStats[3] += pl[3];
                     // Update the stats of the node based on the playouts
-                    updateStats(pl);
+                    updateStats(pl, stats);
                 } else
                     // The node is already solved
                     result = child.getValue();
 
                 // :: Solver
-                if (Math.abs(result) == ShotState.INF) {
-                    if (solverCheck(result)) {   // Returns true if node is solved
-                        if (result == ShotState.INF)
+                if (Math.abs(result) == ShotTransposTable.INF) {
+                    if (solverCheck(result, stats)) {   // Returns true if node is solved
+                        if (result == ShotTransposTable.INF)
                             bestArm = child;
                         // Update the budgetSpent
-                        state.incrBudgetSpent(plStats[3]);
+                        updateBudgetSpent(plStats[3]);
                         return result;
                     } else {
                         // Redistribute the unspent budget in the next round
@@ -218,32 +270,38 @@ public class SHOTNode {
 
             // :: Solver
             if (options.solver) {
-                for (Iterator<SHOTNode> iterator = S.iterator(); iterator.hasNext(); ) {
-                    SHOTNode node = iterator.next();
-                    if (node.isSolved())
-                        iterator.remove();
+                removeSolvedArms();
+                // All arms were removed as losses, but their proofs were replaced in the transposition table
+                if (sSize == 0) {
+                    setSolved(true);
+                    stats.proofs++;
+                    updateBudgetSpent(plStats[3]);
+                    return -ShotTransposTable.INF;
                 }
             }
             // :: Removal policy: Sorting
-            if (S.size() > 0)
-                Collections.sort(S.subList(0, Math.min(s, S.size())), comparator);
+            if (sSize > 0) {
+                long t = stats.start(SearchStats.SELECT);
+                sortArms(Math.min(s, sSize));
+                stats.end(SearchStats.SELECT, t);
+            }
 
             // :: Removal policy: Reduction
             s -= (int) Math.floor(s / 2.);
 
             // For the solver
-            s = Math.min(S.size(), s);
+            s = Math.min(sSize, s);
             // :: UBLB
-            if (options.UBLB && s > 1 && b > S.size()) {
-                double ub, lb = S.get(0).getValue() - options.shotC *
-                        Math.sqrt(FastLog.log(getVisits()) / S.get(0).getVisits());
+            if (options.UBLB && s > 1 && b > sSize) {
+                double ub, lb = C[S[0]].getValue() - options.shotC *
+                        Math.sqrt(FastLog.log(getVisits()) / C[S[0]].getVisits());
                 // int oldS = s;
                 for (int i = s - 1; i > 0; i--) {
-                    ub = S.get(i).getValue() + options.shotC *
-                            Math.sqrt(FastLog.log(getVisits()) / S.get(i).getVisits());
+                    ub = C[S[i]].getValue() + options.shotC *
+                            Math.sqrt(FastLog.log(getVisits()) / C[S[i]].getVisits());
                     if (ub < lb) {
                         s--;
-                        removeCount++;
+                        stats.removals++;
                         //if(s < 2)
                         //    System.err.println("Many nodes removed, s: " + s + " old s: " + oldS);
                     } else
@@ -266,23 +324,29 @@ public class SHOTNode {
         // Update the budgetSpent value
         updateBudgetSpent(plStats[3]);
         // :: Final arm selection
-        if (!S.isEmpty())
-            bestArm = S.get(0);
+        if (sSize > 0)
+            bestArm = C[S[0]];
         return 0;
     }
 
+    @Override
+    public double search(Board board, int depth, int budget, double[] plStats, SearchStats stats) {
+        return SHOT(board, depth, budget, plStats, stats);
+    }
+
     private int getBudget(int initVis, int budget, int subS, int totS) {
         return (int) Math.max(1, Math.floor((initVis + budget) / (subS * Math.max(1, Math.ceil(Math.log(totS) / LOG2)))));
     }
 
-    private boolean solverCheck(double result) {
+    private boolean solverCheck(double result, SearchStats stats) {
         if (!options.solver)
             return false;
         // (Solver) If one of the children is a win, then I'm a loss for the opponent
-        if (result == ShotState.INF) {
+        if (result == ShotTransposTable.INF) {
             setSolved(false);
+            stats.proofs++;
             return true;
-        } else if (result == -ShotState.INF) {
+        } else if (result == -ShotTransposTable.INF) {
             boolean allSolved = true;
             // (Solver) Check if all children are a loss
             for (SHOTNode tn : C) {
@@ -294,74 +358,96 @@ public class SHOTNode {
             // (Solver) If all children lead to a loss for me, then I'm a win for the opponent
             if (allSolved) {
                 setSolved(true);
+                stats.proofs++;
                 return true;
             }
         }
         return false;
     }
 
-    private SHOTNode expand(Board board) {
+    private SHOTNode expand(Board board, SearchStats stats) {
         expanded = true;
         int winner = board.checkWin();
         int nextPlayer = 3 - board.getPlayerToMove();
         // If one of the nodes is a win, we don't have to select
         SHOTNode winNode = null;
         // Generate all moves
-        MoveList moves = board.getExpandMoves(null);
-        if (S == null)
-            S = new LinkedList<SHOTNode>();
-        if (C == null)
-            C = new LinkedList<SHOTNode>();
+        MoveList moves = board.getExpandMoves(expandMoves.get(), null);
+        int n = (winner == Board.NONE_WIN) ? moves.size() : 0;
+        C = new SHOTNode[n];
+        S = new int[n];
+        values = new double[n];
+        sSize = n;
         // Board is terminal, don't expand
         if (winner != Board.NONE_WIN)
             return null;
+        stats.expansions++;
         // Add all moves as children to the current node
         for (int i = 0; i < moves.size(); i++) {
-            Board tempBoard = board.clone();
-            // If the game is partial observable, we don't want to do the solver part
-            tempBoard.doMove(moves.get(i), options.earlyTerm);
-            SHOTNode child = new SHOTNode(nextPlayer, moves.get(i), options, tempBoard.hash(), tt);
+            int move = moves.get(i);
+            // The child's hash is computed incrementally, the move itself is not made
+            SHOTNode child = new SHOTNode(nextPlayer, move, options, board.hashAfter(move), tt);
             if (options.solver && !child.isSolved()) {
                 // Check for a winner, (Solver)
-                winner = tempBoard.checkWin();
-                if (winner == player) {
+                if (board.isWinningMove(move)) {
                     winNode = child;
                     child.setSolved(true);
-                } else if (winner == nextPlayer) {
-                    child.setSolved(false);
+                    stats.proofs++;
                 }
             }
             if (!child.isSolved() && options.nodePriors && child.getVisits() == 0) {
                 double npRate = board.npWinrate(player, child.move);
-                child.getState().init((int) (npRate * options.npVisits), player, options.npVisits);
+                int childState = child.getState(false);
+                if (childState != ShotTransposTable.NONE)
+                    tt.init(childState, (int) (npRate * options.npVisits), player, options.npVisits);
             }
             //
-            C.add(child);
-            S.add(child);
+            C[i] = child;
+            S[i] = i;
         }
         // If one of the nodes is a win, return it.
         return winNode;
     }
 
-    private final Comparator<SHOTNode> comparator = new Comparator<SHOTNode>() {
-        @Override
-        public int compare(SHOTNode o1, SHOTNode o2) {
-            return Double.compare(o2.getValue(), o1.getValue());
+    /**
+     * Sort the first k arms by their value, best first. The values are read once, so the order is consistent while
+     * other threads update the transposition table. The sort is stable.
+     */
+    private void sortArms(int k) {
+        for (int i = 0; i < k; i++)
+            values[S[i]] = C[S[i]].getValue();
+        for (int i = 1; i < k; i++) {
+            int arm = S[i], j = i - 1;
+            double v = values[arm];
+            for (; j >= 0 && Double.compare(v, values[S[j]]) > 0; j--)
+                S[j + 1] = S[j];
+            S[j + 1] = arm;
         }
-    };
+    }
 
-    public static int totalPlayouts = 0;
+    /**
+     * Remove the solved arms from S, keeping the order of the others
+     */
+    private void removeSolvedArms() {
+        int k = 0;
+        for (int i = 0; i < sSize; i++) {
+            if (!C[S[i]].isSolved())
+                S[k++] = S[i];
+        }
+        sSize = k;
+    }
 
-    private int playOut(Board board) {
+    private int playOut(Board board, SearchStats stats) {
+        long t = stats.start(SearchStats.PLAYOUT);
         simulated = true;
-        totalPlayouts++;
+        // Incrementally remove the stale transpositions, every search thread counts its own play-outs
+        if (++stats.playouts % ShotTransposTable.SWEEP_INTERVAL == 0)
+            tt.sweep();
         int winner = board.checkWin(), nMoves = 0;
-        int[] move;
+        int move;
         boolean interrupted = false;
-        MoveList moves;
         while (winner == Board.NONE_WIN && !interrupted) {
-            moves = board.getPlayoutMoves(options.heuristics);
-            move = moves.get(Options.r.nextInt(moves.size()));
+            move = board.getPlayoutMove(options.heuristics);
             board.doMove(move, options.earlyTerm);
             winner = board.checkWin();
             nMoves++;
@@ -377,16 +463,19 @@ public class SHOTNode {
             else if (eval < -options.etT)
                 winner = 3 - player;
         }
+        stats.playedOut(nMoves, interrupted, winner != Board.NONE_WIN);
+        // Restore the board to the state before the playout
+        for (; nMoves > 0; nMoves--)
+            board.undoMove();
+        stats.end(SearchStats.PLAYOUT, t);
         return winner;
     }
 
-    public SHOTNode selectBestMove() {
+    public SHOTNode selectBestMove(Random r) {
         // For debugging, print the nodes
         if (options.debug) {
-            List<SHOTNode> l = (S.isEmpty()) ? C : S;
-            for (SHOTNode t : l) {
-                System.out.println(t);
-            }
+            for (int i = 0; i < (sSize == 0 ? C.length : sSize); i++)
+                System.out.println(sSize == 0 ? C[i] : C[S[i]]);
         }
         if (bestArm != null)
             return bestArm;
@@ -395,10 +484,10 @@ public class SHOTNode {
         double value;
         double max = Double.NEGATIVE_INFINITY;
         for (SHOTNode t : C) {
-            if (t.getValue() == ShotState.INF)
-                value = ShotState.INF + Options.r.nextDouble();
-            else if (t.getValue() == -ShotState.INF)
-                value = -ShotState.INF + t.getVisits() + Options.r.nextDouble();
+            if (t.getValue() == ShotTransposTable.INF)
+                value = ShotTransposTable.INF + r.nextDouble();
+            else if (t.getValue() == -ShotTransposTable.INF)
+                value = -ShotTransposTable.INF + t.getVisits() + r.nextDouble();
             else {
                 // Select the child with the highest value
                 value = t.getValue();
@@ -409,7 +498,7 @@ public class SHOTNode {
             }
         }
         if (bestChild == null)
-            throw new NullPointerException("bestChild is null, root has " + C.size() + " children");
+            throw new NullPointerException("bestChild is null, root has " + C.length + " children");
         return bestChild;
     }
 
@@ -418,86 +507,99 @@ public class SHOTNode {
     }
 
     public boolean isTerminal() {
-        return expanded && C != null && C.size() == 0;
-    }
-
-    private void setValue(ShotState s) {
-        if (state == null)
-            state = tt.getState(hash, false);
-        state.setValue(s);
+        return expanded && C != null && C.length == 0;
     }
 
     private void updateBudgetSpent(double n) {
-        if (state == null)
-            state = tt.getState(hash, false);
-        state.incrBudgetSpent(n);
+        int s = getState(false);
+        // The shared transposition table may have no room for the state
+        if (s != ShotTransposTable.NONE)
+            tt.incrBudgetSpent(s, n);
     }
 
-    private void updateStats(double[] plStats) {
-        if (state == null)
-            state = tt.getState(hash, false);
-        state.updateStats(plStats[0], plStats[1], plStats[2]);
+    private void updateStats(double[] plStats, SearchStats stats) {
+        long t = stats.start(SearchStats.BACKUP);
+        int s = getState(false);
+        if (s != ShotTransposTable.NONE)
+            tt.updateStats(s, plStats[0], plStats[1], plStats[2]);
+        stats.end(SearchStats.BACKUP, t);
     }
 
     private double getBudgetNode() {
-        if (state == null)
-            state = tt.getState(hash, true);
-        if (state == null)
+        int s = getState(true);
+        if (s == ShotTransposTable.NONE)
             return 0;
-        return state.getBudgetSpent();
+        return tt.getBudgetSpent(s);
     }
 
     private void setSolved(boolean win) {
-        if (state == null)
-            state = tt.getState(hash, false);
+        int s = getState(false);
+        if (s == ShotTransposTable.NONE)
+            return;
         if (win)
-            state.setSolved(3 - player);
+            tt.setSolved(s, 3 - player);
         else
-            state.setSolved(player);
+            tt.setSolved(s, player);
     }
 
     /**
      * @return The value of this node with respect its parent
      */
     private double getValue() {
-        if (state == null)
-            state = tt.getState(hash, true);
-        if (state == null)
+        int s = getState(true);
+        if (s == ShotTransposTable.NONE)
             return 0.;
-        return state.getMean(3 - player);
+        return tt.getMean(s, 3 - player);
     }
 
     /**
      * @return The number of visits of the transposition
      */
-    private double getVisits() {
-        if (state == null)
-            state = tt.getState(hash, true);
-        if (state == null)
+    public double getVisits() {
+        int s = getState(true);
+        if (s == ShotTransposTable.NONE)
             return 0.;
-        return state.getVisits();
+        return tt.getVisits(s);
+    }
+
+    /**
+     * @param existingOnly If false the state is updated next, and is pinned in a shared transposition table
+     * @return The handle of the state, the field is read once since it is shared by the threads in parallel SHOT
+     */
+    private int getState(boolean existingOnly) {
+        int s = state;
+        if (!(existingOnly ? tt.isState(s, hash) : tt.pin(s, hash)))
+            state = s = tt.getState(hash, existingOnly);
+        return s;
     }
 
-    private ShotState getState() {
-        if (state == null)
-            state = tt.getState(hash, false);
-        return state;
+    public boolean isSolved() {
+        return Math.abs(getValue()) == ShotTransposTable.INF;
     }
 
-    private boolean isSolved() {
-        return Math.abs(getValue()) == ShotState.INF;
+    /**
+     * @return The child with the given hash, or null if it is not in the tree
+     */
+    public SHOTNode getChild(long hash) {
+        if (C == null)
+            return null;
+        for (SHOTNode c : C) {
+            if (c.hash == hash)
+                return c;
+        }
+        return null;
     }
 
-    public int[] getMove() {
+    public int getMove() {
         return move;
     }
 
     @Override
     public String toString() {
-        if (state != null) {
-            return Board.getMoveString(move) + " " + state.toString();
+        if (tt.isState(state, hash)) {
+            return Board.getMoveString(move) + " " + tt.toString(state);
         } else {
-            return move.toString();
+            return Board.getMoveString(move);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package mcts.SHOT;
+
+import breakthrough.game.Board;
+import framework.AIPlayer;
+import framework.Options;
+import framework.SearchStats;
+import framework.util.AllocationCounter;
+import mcts.transpos.ConcurrentShotTransposTable;
+import mcts.transpos.ShotTransposTable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+public class SHOTPlayer implements AIPlayer {
+
+    private ShotTransposTable tt;
+    private SHOTNode root;
+    // Parallel SHOT, the arms of a round are searched by the threads of the pool
+    private ForkJoinPool pool;
+    private int bestMove;
+    private SearchStats stats;
+    private final AllocationCounter allocations = new AllocationCounter();
+    public int total = 0;
+    public long totalTime = 0;
+    // Fields that must be set
+    private Options options = null;
+
+    public void getMove(Board board) {
+        if (options == null)
+            throw new RuntimeException("MCTS Options not set.");
+
+        // Reuse the subtree of the opponent's move, the root was set to the previous best child
+        SHOTNode reused = (root != null) ? root.getChild(board.hash()) : null;
+        if (reused != null)
+            root = reused;
+        else
+            root = new SHOTNode(board.getPlayerToMove(), 0, options, board.hash(), tt);
+        double[] pl = {0, 0, 0, 0};
+        SearchStats searchStats = stats = new SearchStats(options.profile);
+        allocations.start();
+        long startT = System.currentTimeMillis();
+        if (pool != null) {
+            SHOTNode searchRoot = root;
+            pool.invoke(ForkJoinTask.adapt(() -> searchRoot.SHOT(board, 0, options.timeLimit, pl, searchStats)));
+        } else
+            root.SHOT(board, 0, options.timeLimit, pl, stats);
+        long endT = System.currentTimeMillis();
+        // Return the best move found
+        SHOTNode bestChild = root.selectBestMove(board.getRandom());
+        bestMove = bestChild.getMove();
+        // The play-outs counted by the threads, the budget spent includes the visits of solved nodes
+        total += stats.playouts;
+        stats.player = board.getPlayerToMove();
+        stats.move = bestMove;
+        stats.playouts = (int) pl[3];
+        stats.time = endT - startT;
+        stats.allocatedBytes = allocations.allocatedBytes();
+        tt.addStats(stats);
+        // show information on the best move
+        if (options.debug) {
+            System.out.println("Player " + board.getPlayerToMove());
+            System.out.println("Best child: " + bestChild);
+            System.out.println(stats);
+            System.out.println("UBLB removed " + stats.removals + " nodes");
+        }
+        totalTime += endT - startT;
+        // Transpositions not used in this or the next move become stale
+        tt.nextGeneration();
+        // Set the root to the best child, so in the next move, the opponent's move can become the new root
+        root = bestChild;
+    }
+
+    public void setOptions(Options options) {
+        // The threads of the previous options are not reused
+        close();
+        this.options = options;
+        if (options.threads > 1) {
+            this.tt = new ConcurrentShotTransposTable(options.ttBits, options.ttReplace);
+            this.pool = new ForkJoinPool(options.threads, p -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                allocations.register(t);
+                return t;
+            }, null, false);
+        } else
+            this.tt = new ShotTransposTable(options.ttBits, options.ttReplace);
+    }
+
+    @Override
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null)
+            pool.shutdown();
+        pool = null;
+    }
+}
+
@@ -0,0 +1,93 @@
+package mcts.transpos;
+
+/**
+ * Transposition table with the states stored in parallel primitive arrays on the heap.
+ */
+public class ArrayTransposTable extends TransposTable {
+    private final long[] hashes;
+    private final int[] visits, stamps, imValues;
+    private final float[] sums;
+    private final short[] solvedPlayers;
+    private final byte[] status;
+
+    public ArrayTransposTable(int bits, int replace) {
+        super(bits, replace);
+        this.hashes = new long[capacity];
+        this.visits = new int[capacity];
+        this.stamps = new int[capacity];
+        this.imValues = new int[capacity];
+        this.sums = new float[capacity];
+        this.solvedPlayers = new short[capacity];
+        this.status = new byte[capacity];
+    }
+
+    @Override
+    protected long getHash(int s) {
+        return hashes[s];
+    }
+
+    @Override
+    protected void setHash(int s, long hash) {
+        hashes[s] = hash;
+    }
+
+    @Override
+    protected byte getStatus(int s) {
+        return status[s];
+    }
+
+    @Override
+    protected void setStatus(int s, byte status) {
+        this.status[s] = status;
+    }
+
+    @Override
+    protected float getSum(int s) {
+        return sums[s];
+    }
+
+    @Override
+    protected void setSum(int s, float sum) {
+        sums[s] = sum;
+    }
+
+    @Override
+    public int getVisits(int s) {
+        return visits[s];
+    }
+
+    @Override
+    protected void setVisits(int s, int visits) {
+        this.visits[s] = visits;
+    }
+
+    @Override
+    public int getImValue(int s) {
+        return imValues[s];
+    }
+
+    @Override
+    public void setImValue(int s, int imValue) {
+        imValues[s] = imValue;
+    }
+
+    @Override
+    protected short getSolved(int s) {
+        return solvedPlayers[s];
+    }
+
+    @Override
+    protected void setSolvedPlayer(int s, short player) {
+        solvedPlayers[s] = player;
+    }
+
+    @Override
+    protected int getStamp(int s) {
+        return stamps[s];
+    }
+
+    @Override
+    protected void setStamp(int s, int stamp) {
+        stamps[s] = stamp;
+    }
+}
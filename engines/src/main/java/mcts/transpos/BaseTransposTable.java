@@ -0,0 +1,336 @@
+package mcts.transpos;
+
+import framework.SearchStats;
+
+/**
+ * Hashing, replacement and cleanup of the transposition tables, the statistics stored per state are left to the
+ * subclasses. States are referred to by their index in the table (a handle). Since states can be replaced or
+ * removed, a handle should be checked with isState before it is used, and with pin before the state is updated.
+ * <p>
+ * With REPLACE_NONE states are stored by linear probing. The other policies store a state in a bucket of
+ * BUCKET_SIZE slots and replace one of the states in the bucket when it is full.
+ * <p>
+ * Every state is stamped with the generation (i.e. move) in which it was last updated or its mean was read. States that
+ * were not used in the current and the previous generation are stale, they can still be found but are replaced first,
+ * and are removed incrementally by sweep during the search.
+ */
+public abstract class BaseTransposTable {
+    public static final int NONE = -1;
+    // Returned by getStats if the handle does not refer to the state, the visits of a state are never negative
+    public static final long NO_STATS = -1L;
+    // Replacement policies
+    public static final int REPLACE_NONE = 0, REPLACE_ALWAYS = 1, REPLACE_VISITS = 2, REPLACE_TWO_TIER = 3,
+            REPLACE_AGE = 4;
+    private static final String[] REPLACE_NAMES = {"none", "always", "visits", "twotier", "age"};
+    public static final int BUCKET_SIZE = 4;
+    // Number of simulations between sweeps, the slots swept per sweep and per added state
+    public static final int SWEEP_INTERVAL = 64, SWEEP_SLICE = 1024, SWEEP_RATE = 4;
+    // Slot status, deleted slots are skipped by the linear probing but can be reused
+    protected static final byte FREE = 0, USED = 1, DELETED = 2;
+    //
+    protected final int capacity, mask, replace;
+    protected int generation = 0;
+    private int sweepPos = 0, added = 0;
+    // Counters, all but the positions are reset every generation
+    protected static final int POSITIONS = 0, RECOVERIES = 1, COLLISIONS = 2, EVICTIONS = 3, RETIRED = 4, COUNTERS = 5;
+    private final int[] counters = new int[COUNTERS];
+
+    /**
+     * @param bits    The table holds 2^bits states
+     * @param replace The replacement policy, one of the REPLACE_ constants
+     */
+    protected BaseTransposTable(int bits, int replace) {
+        if (bits < 2 || bits > 30)
+            throw new RuntimeException("Invalid transposition table size 2^" + bits);
+        if (replace < REPLACE_NONE || replace > REPLACE_AGE)
+            throw new RuntimeException("Invalid replacement policy " + replace);
+        this.capacity = 1 << bits;
+        this.mask = capacity - 1;
+        this.replace = replace;
+    }
+
+    /**
+     * @return The replacement policy with the given name, e.g. "visits"
+     */
+    public static int parseReplace(String name) {
+        for (int i = 0; i < REPLACE_NAMES.length; i++)
+            if (REPLACE_NAMES[i].equals(name))
+                return i;
+        throw new RuntimeException("Unknown replacement policy: " + name);
+    }
+
+    protected abstract long getHash(int s);
+
+    protected abstract void setHash(int s, long hash);
+
+    protected abstract byte getStatus(int s);
+
+    protected abstract void setStatus(int s, byte status);
+
+    protected abstract int getStamp(int s);
+
+    protected abstract void setStamp(int s, int stamp);
+
+    public abstract int getVisits(int s);
+
+    /**
+     * Reset the statistics of a new state
+     */
+    protected abstract void clearSlot(int s);
+
+    /**
+     * Copy the state in slot from, including its hash and status, to slot to
+     */
+    protected abstract void copySlot(int from, int to);
+
+    /**
+     * @return True if the handle refers to the state with the given hash
+     */
+    public boolean isState(int s, long hash) {
+        return s != NONE && getHash(s) == hash && getStatus(s) == USED;
+    }
+
+    /**
+     * @return True if the handle refers to the state with the given hash, the state is then kept in the current
+     * generation. Used before the state is updated.
+     */
+    public boolean pin(int s, long hash) {
+        return isState(s, hash);
+    }
+
+    /**
+     * @param stats The mean and the visits packed by getStats
+     */
+    public static int statsVisits(long stats) {
+        return (int) stats;
+    }
+
+    /**
+     * @return The handle of the state with the given hash, or NONE if existingOnly and it is not in the table
+     */
+    public int getState(long hash, boolean existingOnly) {
+        if (replace == REPLACE_NONE)
+            return probe(hash, existingOnly);
+        int hashPos = (int) (hash & mask), bucket = hashPos & ~(BUCKET_SIZE - 1), free = NONE, stale = NONE;
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            if (getStatus(i) == USED) {
+                if (getHash(i) == hash) {
+                    count(RECOVERIES, 1);
+                    return i;
+                }
+                if (stale == NONE && isStale(i))
+                    stale = i;
+            } else if (free == NONE) {
+                free = i;
+            }
+        }
+        if (existingOnly)
+            return NONE;
+        if (free != NONE) {
+            count(POSITIONS, 1);
+            added++;
+        } else if (stale != NONE) {
+            free = stale;
+            count(RETIRED, 1);
+        } else {
+            free = victim(bucket, hashPos);
+            // All states in the bucket are pinned
+            if (free == NONE)
+                return NONE;
+            count(EVICTIONS, 1);
+        }
+        if (free != hashPos)
+            count(COLLISIONS, 1);
+        newState(free, hash);
+        return free;
+    }
+
+    private int probe(long hash, boolean existingOnly) {
+        int hashPos = (int) (hash & mask), i = hashPos, reuse = NONE;
+        byte st;
+        for (int probes = 0; probes < capacity && (st = getStatus(i)) != FREE; probes++) {
+            if (st == USED) {
+                if (getHash(i) == hash) {
+                    count(RECOVERIES, 1);
+                    return i;
+                }
+                if (reuse == NONE && isStale(i))
+                    reuse = i;
+            } else if (reuse == NONE) {
+                reuse = i;
+            }
+            i = (i + 1) & mask;
+        }
+        //
+        if (existingOnly)
+            return NONE;
+        if (reuse != NONE) {
+            i = reuse;
+            if (getStatus(i) == USED)
+                count(RETIRED, 1);
+            else {
+                count(POSITIONS, 1);
+                added++;
+            }
+        } else if (getStatus(i) == FREE) {
+            count(POSITIONS, 1);
+            added++;
+        } else
+            throw new RuntimeException("Transposition table is full, " + getCount(POSITIONS) + " positions");
+        // Transposition was not found, i.e. collision if it cannot be stored in its own slot
+        if (i != hashPos)
+            count(COLLISIONS, 1);
+        newState(i, hash);
+        return i;
+    }
+
+    private void newState(int s, long hash) {
+        setStatus(s, USED);
+        setHash(s, hash);
+        setStamp(s, generation);
+        clearSlot(s);
+    }
+
+    /**
+     * Mark the state as used in the current generation. The stamp is written once per generation, such that reading a
+     * state does not write to it every time.
+     */
+    protected void touch(int s) {
+        if (getStamp(s) != generation)
+            setStamp(s, generation);
+    }
+
+    /**
+     * @return True if the state may not be replaced
+     */
+    protected boolean isPinned(int s) {
+        return false;
+    }
+
+    /**
+     * @return True if the state was not used in the current and the previous generation
+     */
+    protected boolean isStale(int s) {
+        return generation - getStamp(s) > 1;
+    }
+
+    /**
+     * @return The slot in the full bucket that is replaced by a new state, or NONE if all states are pinned
+     */
+    private int victim(int bucket, int hashPos) {
+        switch (replace) {
+            case REPLACE_ALWAYS:
+                return isPinned(hashPos) ? NONE : hashPos;
+            case REPLACE_VISITS:
+                return leastVisited(bucket, bucket + BUCKET_SIZE);
+            case REPLACE_AGE:
+                int oldest = NONE;
+                for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+                    if (isPinned(i))
+                        continue;
+                    if (oldest == NONE || getStamp(i) < getStamp(oldest) ||
+                            (getStamp(i) == getStamp(oldest) && getVisits(i) < getVisits(oldest)))
+                        oldest = i;
+                }
+                return oldest;
+            case REPLACE_TWO_TIER:
+                // The first half of the bucket keeps the most visited states, the second half is always replaced.
+                // A state leaving the second half moves to the first if it has more visits than a state there.
+                int half = BUCKET_SIZE / 2;
+                int v = leastVisited(bucket + half, bucket + BUCKET_SIZE);
+                int d = leastVisited(bucket, bucket + half);
+                if (v == NONE)
+                    return d;
+                if (d != NONE && getVisits(v) > getVisits(d))
+                    copySlot(v, d);
+                return v;
+            default:
+                throw new RuntimeException("No victim for replacement policy " + replace);
+        }
+    }
+
+    private int leastVisited(int from, int to) {
+        int least = NONE;
+        for (int i = from; i < to; i++) {
+            if (!isPinned(i) && (least == NONE || getVisits(i) < getVisits(least)))
+                least = i;
+        }
+        return least;
+    }
+
+    /**
+     * Remove the stale states in the next slice of the table. The slice grows with the number of states added since
+     * the previous sweep, so the table is cleaned faster than it fills up.
+     *
+     * @return The number of removed states
+     */
+    public int sweep() {
+        int n = Math.min(capacity, SWEEP_SLICE + SWEEP_RATE * added), removed = 0;
+        added = 0;
+        // Only linear probing has to leave tombstones to keep the probe sequences intact
+        byte remove = (replace == REPLACE_NONE) ? DELETED : FREE;
+        // The slots are swept backwards, such that a free slot frees the tombstones before it
+        for (int k = 0; k < n; k++, sweepPos = (sweepPos - 1) & mask) {
+            if (sweepSlot(sweepPos, remove))
+                removed++;
+        }
+        count(POSITIONS, -removed);
+        count(RETIRED, removed);
+        return removed;
+    }
+
+    /**
+     * @return True if the state in the slot was stale and is removed
+     */
+    protected boolean sweepSlot(int s, byte remove) {
+        byte st = getStatus(s);
+        boolean stale = st == USED && isStale(s);
+        if (stale) {
+            st = remove;
+            setStatus(s, st);
+        }
+        // A tombstone directly before a free slot does not continue any probe sequence
+        if (st == DELETED && getStatus((s + 1) & mask) == FREE)
+            setStatus(s, FREE);
+        return stale;
+    }
+
+    /**
+     * Start a new generation, should be called after every move
+     */
+    public void nextGeneration() {
+        generation++;
+        resetCounters();
+    }
+
+    protected void count(int counter, int n) {
+        counters[counter] += n;
+    }
+
+    protected int getCount(int counter) {
+        return counters[counter];
+    }
+
+    public void resetCounters() {
+        for (int i = RECOVERIES; i < counters.length; i++)
+            counters[i] = 0;
+    }
+
+    /**
+     * Add the counters of the current generation to the statistics of the search
+     */
+    public void addStats(SearchStats stats) {
+        stats.ttRecoveries += getCount(RECOVERIES);
+        stats.ttCollisions += getCount(COLLISIONS);
+        stats.ttEvictions += getCount(EVICTIONS);
+    }
+
+    /**
+     * @return The counters of the current generation
+     */
+    public String getStats() {
+        return "positions: " + getCount(POSITIONS) + " recoveries: " + getCount(RECOVERIES) +
+                " collisions: " + getCount(COLLISIONS) + " evictions: " + getCount(EVICTIONS) +
+                " retired: " + getCount(RETIRED);
+    }
+}
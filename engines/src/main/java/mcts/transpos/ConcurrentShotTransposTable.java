@@ -0,0 +1,153 @@
+package mcts.transpos;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Transposition table for SHOT and H-MCTS shared by the threads of a parallel search, see ConcurrentTransposTable.
+ * States are always stored in buckets, and states used in the current generation are pinned.
+ */
+public class ConcurrentShotTransposTable extends ShotTransposTable {
+    private final LockStripes locks = new LockStripes();
+    private final AtomicIntegerArray counters = new AtomicIntegerArray(COUNTERS);
+
+    public ConcurrentShotTransposTable(int bits, int replace) {
+        super(bits, (replace == REPLACE_NONE) ? REPLACE_VISITS : replace);
+    }
+
+    private Object lock(int s) {
+        return locks.get(s);
+    }
+
+    @Override
+    public boolean isState(int s, long hash) {
+        if (s == NONE)
+            return false;
+        synchronized (lock(s)) {
+            return super.isState(s, hash);
+        }
+    }
+
+    @Override
+    public boolean pin(int s, long hash) {
+        if (s == NONE)
+            return false;
+        synchronized (lock(s)) {
+            if (!super.isState(s, hash))
+                return false;
+            touch(s);
+            return true;
+        }
+    }
+
+    @Override
+    public int getState(long hash, boolean existingOnly) {
+        synchronized (lock((int) (hash & mask))) {
+            int s = super.getState(hash, existingOnly);
+            if (s != NONE)
+                touch(s);
+            return s;
+        }
+    }
+
+    @Override
+    protected boolean isPinned(int s) {
+        return getStamp(s) == generation;
+    }
+
+    @Override
+    public void init(int s, int wins, int player, int visits) {
+        synchronized (lock(s)) {
+            super.init(s, wins, player, visits);
+        }
+    }
+
+    @Override
+    public void updateStats(int s, double n, double p1, double p2) {
+        synchronized (lock(s)) {
+            super.updateStats(s, n, p1, p2);
+        }
+    }
+
+    @Override
+    public double getMean(int s, int player) {
+        synchronized (lock(s)) {
+            return super.getMean(s, player);
+        }
+    }
+
+    @Override
+    public long getStats(int s, long hash, int player) {
+        if (s == NONE)
+            return NO_STATS;
+        // One lock for both values, and the state cannot be replaced in between
+        synchronized (lock(s)) {
+            if (!super.isState(s, hash))
+                return NO_STATS;
+            touch(s);
+            return packStats(s, player);
+        }
+    }
+
+    @Override
+    public void setSolved(int s, int player) {
+        synchronized (lock(s)) {
+            super.setSolved(s, player);
+        }
+    }
+
+    @Override
+    public void incrBudgetSpent(int s, double incr) {
+        synchronized (lock(s)) {
+            super.incrBudgetSpent(s, incr);
+        }
+    }
+
+    @Override
+    public double getBudgetSpent(int s) {
+        synchronized (lock(s)) {
+            return super.getBudgetSpent(s);
+        }
+    }
+
+    @Override
+    public int getVisits(int s) {
+        synchronized (lock(s)) {
+            return super.getVisits(s);
+        }
+    }
+
+    @Override
+    public String toString(int s) {
+        synchronized (lock(s)) {
+            return super.toString(s);
+        }
+    }
+
+    @Override
+    public synchronized int sweep() {
+        return super.sweep();
+    }
+
+    @Override
+    protected boolean sweepSlot(int s, byte remove) {
+        synchronized (lock(s)) {
+            return super.sweepSlot(s, remove);
+        }
+    }
+
+    @Override
+    protected void count(int counter, int n) {
+        counters.addAndGet(counter, n);
+    }
+
+    @Override
+    protected int getCount(int counter) {
+        return counters.get(counter);
+    }
+
+    @Override
+    public void resetCounters() {
+        for (int i = RECOVERIES; i < counters.length(); i++)
+            counters.set(i, 0);
+    }
+}
@@ -0,0 +1,170 @@
+package mcts.transpos;
+
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Transposition table shared by the threads of a tree parallel search. Every bucket is guarded by one of the striped
+ * locks, so states are always stored in buckets, REPLACE_NONE falls back to REPLACE_VISITS since probe sequences
+ * cross the stripes.
+ * <p>
+ * A thread may use a handle between pin and the update of the state, so states used in the current generation are
+ * pinned and never replaced. If all states in a bucket are pinned, getState returns NONE. A state that was not used
+ * yet in the generation can be replaced between isState and a read, so selection reads the mean and visits with
+ * getStats, which checks the hash under the same lock.
+ */
+public class ConcurrentTransposTable extends ArrayTransposTable {
+    private final LockStripes locks = new LockStripes();
+    private final AtomicIntegerArray counters = new AtomicIntegerArray(COUNTERS);
+
+    public ConcurrentTransposTable(int bits, int replace) {
+        super(bits, (replace == REPLACE_NONE) ? REPLACE_VISITS : replace);
+    }
+
+    private Object lock(int s) {
+        return locks.get(s);
+    }
+
+    @Override
+    public boolean isState(int s, long hash) {
+        if (s == NONE)
+            return false;
+        synchronized (lock(s)) {
+            return super.isState(s, hash);
+        }
+    }
+
+    @Override
+    public boolean pin(int s, long hash) {
+        if (s == NONE)
+            return false;
+        synchronized (lock(s)) {
+            if (!super.isState(s, hash))
+                return false;
+            touch(s);
+            return true;
+        }
+    }
+
+    @Override
+    public int getState(long hash, boolean existingOnly) {
+        synchronized (lock((int) (hash & mask))) {
+            int s = super.getState(hash, existingOnly);
+            if (s != NONE)
+                touch(s);
+            return s;
+        }
+    }
+
+    @Override
+    protected boolean isPinned(int s) {
+        return getStamp(s) == generation;
+    }
+
+    @Override
+    public void updateStats(int s, double score, int n, boolean regression) {
+        synchronized (lock(s)) {
+            // Another thread may have solved the state since it was selected
+            if (getSolved(s) != 0)
+                return;
+            super.updateStats(s, score, n, regression);
+        }
+    }
+
+    @Override
+    protected SimpleRegression[] newRegressions() {
+        throw new RuntimeException("Regression is not supported by the concurrent transposition table");
+    }
+
+    @Override
+    public void init(int s, int wins, int visits) {
+        synchronized (lock(s)) {
+            if (getSolved(s) != 0)
+                return;
+            super.init(s, wins, visits);
+        }
+    }
+
+    @Override
+    public float getMean(int s, int player) {
+        synchronized (lock(s)) {
+            return super.getMean(s, player);
+        }
+    }
+
+    @Override
+    public long getStats(int s, long hash, int player) {
+        if (s == NONE)
+            return NO_STATS;
+        // One lock for both values, and the state cannot be replaced in between
+        synchronized (lock(s)) {
+            if (!super.isState(s, hash))
+                return NO_STATS;
+            return packStats(super.getMean(s, player), super.getVisits(s));
+        }
+    }
+
+    @Override
+    public void setSolved(int s, int player) {
+        synchronized (lock(s)) {
+            super.setSolved(s, player);
+        }
+    }
+
+    @Override
+    public int getVisits(int s) {
+        synchronized (lock(s)) {
+            return super.getVisits(s);
+        }
+    }
+
+    @Override
+    public int getImValue(int s) {
+        synchronized (lock(s)) {
+            return super.getImValue(s);
+        }
+    }
+
+    @Override
+    public void setImValue(int s, int imValue) {
+        synchronized (lock(s)) {
+            super.setImValue(s, imValue);
+        }
+    }
+
+    @Override
+    public String toString(int s) {
+        synchronized (lock(s)) {
+            return super.toString(s);
+        }
+    }
+
+    @Override
+    public synchronized int sweep() {
+        return super.sweep();
+    }
+
+    @Override
+    protected boolean sweepSlot(int s, byte remove) {
+        synchronized (lock(s)) {
+            return super.sweepSlot(s, remove);
+        }
+    }
+
+    @Override
+    protected void count(int counter, int n) {
+        counters.addAndGet(counter, n);
+    }
+
+    @Override
+    protected int getCount(int counter) {
+        return counters.get(counter);
+    }
+
+    @Override
+    public void resetCounters() {
+        for (int i = RECOVERIES; i < counters.length(); i++)
+            counters.set(i, 0);
+    }
+}
@@ -0,0 +1,21 @@
+package mcts.transpos;
+
+/**
+ * Striped locks of a concurrent transposition table, all slots of a bucket are guarded by the same lock.
+ */
+final class LockStripes {
+    private static final int STRIPES = 4096;
+    private final Object[] locks = new Object[STRIPES];
+
+    LockStripes() {
+        for (int i = 0; i < STRIPES; i++)
+            locks[i] = new Object();
+    }
+
+    /**
+     * @return The lock of the bucket of slot s
+     */
+    Object get(int s) {
+        return locks[(s / BaseTransposTable.BUCKET_SIZE) & (STRIPES - 1)];
+    }
+}
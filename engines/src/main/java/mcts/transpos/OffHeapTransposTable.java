@@ -0,0 +1,115 @@
+package mcts.transpos;
+
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Transposition table with the states stored off-heap in direct buffers of fixed size slots, so the table is
+ * not scanned by the garbage collector and its size is not bound by -Xmx.
+ * Note that direct memory is limited by -XX:MaxDirectMemorySize, which should be set for large tables.
+ */
+public class OffHeapTransposTable extends TransposTable {
+    // Slot layout, 32 bytes per state
+    private static final int SLOT_BITS = 5;
+    private static final int HASH = 0, SUM = 8, VISITS = 12, IM_VALUE = 16, STAMP = 20, SOLVED = 24, STATUS = 26;
+    // A single buffer can hold at most 2^31 bytes, so larger tables are split in segments
+    private static final int MAX_SEGMENT_BITS = 25;
+    //
+    private final ByteBuffer[] segments;
+    private final int segmentBits, segmentMask;
+
+    public OffHeapTransposTable(int bits, int replace) {
+        super(bits, replace);
+        this.segmentBits = Math.min(bits, MAX_SEGMENT_BITS);
+        this.segmentMask = (1 << segmentBits) - 1;
+        this.segments = new ByteBuffer[1 << (bits - segmentBits)];
+        // Direct buffers are zeroed, i.e. all slots are FREE
+        for (int i = 0; i < segments.length; i++)
+            segments[i] = ByteBuffer.allocateDirect(1 << (segmentBits + SLOT_BITS)).order(ByteOrder.nativeOrder());
+    }
+
+    private ByteBuffer segment(int s) {
+        return segments[s >>> segmentBits];
+    }
+
+    private int offset(int s) {
+        return (s & segmentMask) << SLOT_BITS;
+    }
+
+    @Override
+    protected SimpleRegression[] newRegressions() {
+        throw new RuntimeException("Regression is not supported by the off-heap transposition table");
+    }
+
+    @Override
+    protected long getHash(int s) {
+        return segment(s).getLong(offset(s) + HASH);
+    }
+
+    @Override
+    protected void setHash(int s, long hash) {
+        segment(s).putLong(offset(s) + HASH, hash);
+    }
+
+    @Override
+    protected byte getStatus(int s) {
+        return segment(s).get(offset(s) + STATUS);
+    }
+
+    @Override
+    protected void setStatus(int s, byte status) {
+        segment(s).put(offset(s) + STATUS, status);
+    }
+
+    @Override
+    protected float getSum(int s) {
+        return segment(s).getFloat(offset(s) + SUM);
+    }
+
+    @Override
+    protected void setSum(int s, float sum) {
+        segment(s).putFloat(offset(s) + SUM, sum);
+    }
+
+    @Override
+    public int getVisits(int s) {
+        return segment(s).getInt(offset(s) + VISITS);
+    }
+
+    @Override
+    protected void setVisits(int s, int visits) {
+        segment(s).putInt(offset(s) + VISITS, visits);
+    }
+
+    @Override
+    public int getImValue(int s) {
+        return segment(s).getInt(offset(s) + IM_VALUE);
+    }
+
+    @Override
+    public void setImValue(int s, int imValue) {
+        segment(s).putInt(offset(s) + IM_VALUE, imValue);
+    }
+
+    @Override
+    protected short getSolved(int s) {
+        return segment(s).getShort(offset(s) + SOLVED);
+    }
+
+    @Override
+    protected void setSolvedPlayer(int s, short player) {
+        segment(s).putShort(offset(s) + SOLVED, player);
+    }
+
+    @Override
+    protected int getStamp(int s) {
+        return segment(s).getInt(offset(s) + STAMP);
+    }
+
+    @Override
+    protected void setStamp(int s, int stamp) {
+        segment(s).putInt(offset(s) + STAMP, stamp);
+    }
+}
@@ -0,0 +1,182 @@
+package mcts.transpos;
+
+import java.text.DecimalFormat;
+
+/**
+ * Transposition table for SHOT and H-MCTS, see BaseTransposTable.
+ */
+public class ShotTransposTable extends BaseTransposTable {
+    private static final DecimalFormat df2 = new DecimalFormat("###,##0.000");
+    public static double INF = 999999;
+    // The packed wins of a solved state, more than the visits of any state
+    private static final int SOLVED_WINS = Integer.MAX_VALUE;
+    //
+    private final long[] hashes;
+    private final int[] visits, wins1, wins2, budgetSpent, stamps;
+    private final short[] solvedPlayers;
+    private final byte[] status;
+
+    /**
+     * @param bits    The table holds 2^bits states
+     * @param replace The replacement policy, one of the REPLACE_ constants
+     */
+    public ShotTransposTable(int bits, int replace) {
+        super(bits, replace);
+        this.hashes = new long[capacity];
+        this.visits = new int[capacity];
+        this.wins1 = new int[capacity];
+        this.wins2 = new int[capacity];
+        this.budgetSpent = new int[capacity];
+        this.stamps = new int[capacity];
+        this.solvedPlayers = new short[capacity];
+        this.status = new byte[capacity];
+    }
+
+    @Override
+    protected long getHash(int s) {
+        return hashes[s];
+    }
+
+    @Override
+    protected void setHash(int s, long hash) {
+        hashes[s] = hash;
+    }
+
+    @Override
+    protected byte getStatus(int s) {
+        return status[s];
+    }
+
+    @Override
+    protected void setStatus(int s, byte status) {
+        this.status[s] = status;
+    }
+
+    @Override
+    protected int getStamp(int s) {
+        return stamps[s];
+    }
+
+    @Override
+    protected void setStamp(int s, int stamp) {
+        stamps[s] = stamp;
+    }
+
+    @Override
+    protected void clearSlot(int s) {
+        visits[s] = 0;
+        wins1[s] = 0;
+        wins2[s] = 0;
+        budgetSpent[s] = 0;
+        solvedPlayers[s] = 0;
+    }
+
+    @Override
+    protected void copySlot(int from, int to) {
+        hashes[to] = hashes[from];
+        status[to] = status[from];
+        stamps[to] = stamps[from];
+        visits[to] = visits[from];
+        wins1[to] = wins1[from];
+        wins2[to] = wins2[from];
+        budgetSpent[to] = budgetSpent[from];
+        solvedPlayers[to] = solvedPlayers[from];
+    }
+
+    public void init(int s, int wins, int player, int visits) {
+        if (player == 1)
+            wins1[s] += wins;
+        else
+            wins2[s] += wins;
+        this.visits[s] += visits;
+    }
+
+    public void updateStats(int s, double n, double p1, double p2) {
+        stamps[s] = generation;
+        visits[s] += n;
+        wins1[s] += p1;
+        wins2[s] += p2;
+    }
+
+    public double getMean(int s, int player) {
+        if (player != 1 && player != 2)
+            throw new RuntimeException("Invalid player " + player + " in getMean");
+        // A state that is only read, e.g. a solved state, is kept alive
+        touch(s);
+        if (solvedPlayers[s] == 0) { // Position is not solved, return mean
+            if (visits[s] > 0) {
+                int wins = (player == 1) ? wins1[s] - wins2[s] : wins2[s] - wins1[s];
+                return wins / (double) visits[s];
+            } else
+                return 0;
+        } else    // Position is solved, return inf
+            return (player == solvedPlayers[s]) ? INF : -INF;
+    }
+
+    /**
+     * Read the mean and the visits of the state in one go, see statsMean and statsVisits
+     *
+     * @return The wins with respect to player and the visits packed in a long, or NO_STATS if the handle no longer
+     * refers to the state with the given hash
+     */
+    public long getStats(int s, long hash, int player) {
+        if (!isState(s, hash))
+            return NO_STATS;
+        touch(s);
+        return packStats(s, player);
+    }
+
+    /**
+     * The wins minus the losses, or SOLVED_WINS for a solved state, such that statsMean gives the same as getMean
+     */
+    protected final long packStats(int s, int player) {
+        int wins;
+        if (solvedPlayers[s] == 0)
+            wins = (player == 1) ? wins1[s] - wins2[s] : wins2[s] - wins1[s];
+        else
+            wins = (player == solvedPlayers[s]) ? SOLVED_WINS : -SOLVED_WINS;
+        return ((long) wins << 32) | visits[s];
+    }
+
+    /**
+     * @param stats The wins and the visits packed by getStats
+     * @return The mean, as returned by getMean
+     */
+    public static double statsMean(long stats) {
+        int wins = (int) (stats >> 32), visits = statsVisits(stats);
+        if (wins == SOLVED_WINS)
+            return INF;
+        if (wins == -SOLVED_WINS)
+            return -INF;
+        return (visits > 0) ? wins / (double) visits : 0;
+    }
+
+    public void setSolved(int s, int player) {
+        if (player != 1 && player != 2)
+            throw new RuntimeException("Invalid player " + player + " in setSolved");
+        stamps[s] = generation;
+        if (solvedPlayers[s] > 0 && player != solvedPlayers[s])
+            throw new RuntimeException("setSolved with different player!");
+        solvedPlayers[s] = (short) player;
+    }
+
+    public void incrBudgetSpent(int s, double incr) {
+        budgetSpent[s] += incr;
+    }
+
+    public double getBudgetSpent(int s) {
+        return budgetSpent[s];
+    }
+
+    @Override
+    public int getVisits(int s) {
+        return visits[s];
+    }
+
+    public String toString(int s) {
+        if (solvedPlayers[s] == 0)
+            return df2.format(getMean(s, 1)) + "\tn:" + (double) visits[s];
+        else
+            return "solved win P" + solvedPlayers[s];
+    }
+}
@@ -0,0 +1,175 @@
+package mcts.transpos;
+
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+
+import java.text.DecimalFormat;
+
+/**
+ * Transposition table for UCT, see BaseTransposTable. The storage of the slots is left to the subclasses.
+ */
+public abstract class TransposTable extends BaseTransposTable {
+    private static final DecimalFormat df2 = new DecimalFormat("###,##0.000");
+    public static final int REG_PLAYER = 1;
+    public static final float INF = 999999;
+    //
+    private SimpleRegression[] regressions;  // Only allocated when regression is used
+
+    /**
+     * @param bits    The table holds 2^bits states
+     * @param replace The replacement policy, one of the REPLACE_ constants
+     */
+    protected TransposTable(int bits, int replace) {
+        super(bits, replace);
+    }
+
+    /**
+     * @return A heap or off-heap table of 2^bits states
+     */
+    public static TransposTable create(int bits, int replace, boolean offHeap) {
+        if (offHeap)
+            return new OffHeapTransposTable(bits, replace);
+        return new ArrayTransposTable(bits, replace);
+    }
+
+    // Slot storage
+    protected abstract float getSum(int s);
+
+    protected abstract void setSum(int s, float sum);
+
+    protected abstract void setVisits(int s, int visits);
+
+    public abstract int getImValue(int s);
+
+    public abstract void setImValue(int s, int imValue);
+
+    protected abstract short getSolved(int s);
+
+    protected abstract void setSolvedPlayer(int s, short player);
+
+    @Override
+    protected void clearSlot(int s) {
+        setVisits(s, 0);
+        setSum(s, 0);
+        setImValue(s, Integer.MIN_VALUE);
+        setSolvedPlayer(s, (short) 0);
+        if (regressions != null)
+            regressions[s] = null;
+    }
+
+    @Override
+    protected void copySlot(int from, int to) {
+        setStatus(to, getStatus(from));
+        setHash(to, getHash(from));
+        setStamp(to, getStamp(from));
+        setVisits(to, getVisits(from));
+        setSum(to, getSum(from));
+        setImValue(to, getImValue(from));
+        setSolvedPlayer(to, getSolved(from));
+        if (regressions != null)
+            regressions[to] = regressions[from];
+    }
+
+    /**
+     * Add n visits with the given mean score
+     */
+    public void updateStats(int s, double score, int n, boolean regression) {
+        touch(s);
+        if (getSolved(s) != 0)
+            throw new RuntimeException("updateStats called on solved position!");
+        setSum(s, (float) (getSum(s) + score * n));
+        int visits = getVisits(s) + n;
+        setVisits(s, visits);
+
+        if (regression) {
+            if (regressions == null)
+                regressions = newRegressions();
+            // Only create a regression model if there are some visits
+            if (regressions[s] == null || visits % 1000 < n) {
+                regressions[s] = new SimpleRegression();
+            }
+
+            regressions[s].addData(visits, getMean(s, REG_PLAYER));
+        }
+    }
+
+    /**
+     * @return The array holding the regression models of the states
+     */
+    protected SimpleRegression[] newRegressions() {
+        return new SimpleRegression[capacity];
+    }
+
+    public double getRegressionValue(int s, int steps, int player) {
+        if(player == REG_PLAYER)
+            return regressions[s].predict(getVisits(s) + steps);
+        else
+            return -1 * regressions[s].predict(getVisits(s) + steps);
+    }
+
+    public SimpleRegression getRegression(int s) {
+        return (regressions != null) ? regressions[s] : null;
+    }
+
+    public void init(int s, int wins, int visits) {
+        if (getSolved(s) != 0)
+            throw new RuntimeException("updateStats called on solved position!");
+        setSum(s, getSum(s) + wins);
+        setVisits(s, getVisits(s) + visits);
+    }
+
+    public float getMean(int s, int player) {
+        // A state that is only read, e.g. a solved state, is kept alive
+        touch(s);
+        short solvedPlayer = getSolved(s);
+        if (solvedPlayer == 0) { // Position is not solved, return mean
+            int visits = getVisits(s);
+            if (visits > 0)
+                return getSum(s) / visits;
+            else
+                return 0;
+        } else    // Position is solved, return inf
+            return (player == solvedPlayer) ? INF : -INF;
+    }
+
+    /**
+     * Read the mean and the visits of the state in one go, see statsMean and statsVisits
+     *
+     * @return The mean with respect to player and the visits packed in a long, or NO_STATS if the handle no longer
+     * refers to the state with the given hash
+     */
+    public long getStats(int s, long hash, int player) {
+        if (!isState(s, hash))
+            return NO_STATS;
+        return packStats(getMean(s, player), getVisits(s));
+    }
+
+    protected static long packStats(float mean, int visits) {
+        return ((long) Float.floatToRawIntBits(mean) << 32) | visits;
+    }
+
+    /**
+     * @param stats The mean and the visits packed by getStats
+     */
+    public static float statsMean(long stats) {
+        return Float.intBitsToFloat((int) (stats >>> 32));
+    }
+
+    public void setSolved(int s, int player) {
+        touch(s);
+        short solvedPlayer = getSolved(s);
+        if (solvedPlayer > 0 && player != solvedPlayer)
+            throw new RuntimeException("setSolved with different player!");
+        setSolvedPlayer(s, (short) player);
+    }
+
+    public String toString(int s) {
+        short solvedPlayer = getSolved(s);
+        if (solvedPlayer == 0)
+            if (getImValue(s) > Integer.MIN_VALUE)
+                return df2.format(getMean(s, 1)) + "\tn:" + getVisits(s) + "\tim: " + getImValue(s);
+            else
+                return df2.format(getMean(s, 1)) + "\tn:" + getVisits(s);
+        else
+            return "solved win P" + solvedPlayer;
+    }
+}
@@ -0,0 +1,89 @@
+package mcts.uct;
+
+import breakthrough.game.Board;
+import framework.SearchStats;
+import framework.util.FastRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Leaf parallelisation, runs a batch of play-outs from the same leaf. The batch is played on copies of the board by
+ * the worker threads, or one after the other on the board itself if there are no workers. Used by a single search
+ * thread.
+ */
+class LeafPlayouts {
+    private final int n;
+    private final ExecutorService pool;
+    private final Board[] boards;
+    // The play-outs of the worker threads are recorded separately, and added to the search's statistics at the end
+    private final SearchStats[] boardStats;
+    private final List<Future<Double>> results;
+    // The number of play-outs to back up in the current simulation
+    int visits = 1;
+
+    /**
+     * @param n      The number of play-outs per leaf
+     * @param pool   The worker threads, or null to play all play-outs in the search thread
+     * @param random  Seeds the random generators of the board copies
+     * @param profile See Options.profile
+     */
+    LeafPlayouts(int n, ExecutorService pool, Random random, int profile) {
+        this.n = n;
+        this.pool = pool;
+        this.results = new ArrayList<>(n);
+        this.boards = new Board[n];
+        this.boardStats = new SearchStats[n];
+        if (pool != null) {
+            for (int i = 1; i < n; i++) {
+                boards[i] = new Board();
+                boards[i].setRandom(new FastRandom(random.nextLong()));
+                boardStats[i] = new SearchStats(profile);
+            }
+        }
+    }
+
+    /**
+     * @return The mean score of the play-outs in view of the leaf's player
+     */
+    double playOut(UCTNode tree, int leaf, Board board, SearchStats stats) {
+        double score = 0;
+        visits = n;
+        if (pool == null) {
+            for (int i = 0; i < n; i++)
+                score += tree.playOut(leaf, board, stats);
+            return score / n;
+        }
+        results.clear();
+        for (int i = 1; i < n; i++) {
+            Board copy = boards[i];
+            SearchStats copyStats = boardStats[i];
+            copy.copyFrom(board);
+            results.add(pool.submit(() -> tree.playOut(leaf, copy, copyStats)));
+        }
+        // The search thread plays one of the play-outs itself
+        score = tree.playOut(leaf, board, stats);
+        for (Future<Double> result : results) {
+            try {
+                score += result.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException("Leaf parallel play-out failed", e);
+            }
+        }
+        return score / n;
+    }
+
+    /**
+     * Add the play-outs recorded by the worker threads to the statistics of the search
+     */
+    void addStats(SearchStats stats) {
+        for (int i = 1; i < n; i++) {
+            if (boardStats[i] != null)
+                stats.add(boardStats[i]);
+        }
+    }
+}
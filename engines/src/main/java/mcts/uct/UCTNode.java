@@ -0,0 +1,714 @@
+package mcts.uct;
+
+import breakthrough.game.Board;
+import framework.MoveList;
+import framework.Options;
+import framework.SearchStats;
+import framework.util.FastLog;
+import framework.util.FastSigm;
+import framework.util.StatCounter;
+import mcts.transpos.TransposTable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The nodes of a UCT search tree, stored in arrays that are allocated up front and referred to by their index. The
+ * children of a node are stored consecutively. The statistics of the nodes are kept in the transposition table, the
+ * tree holds their moves, hashes and the handles of their states.
+ * <p>
+ * Between moves the subtree that is reused is moved to the front of the arrays, otherwise the tree is cleared in O(1).
+ * The statistics of the previous searches remain in the transposition table. A tree that is searched by a single
+ * thread doubles in size when it is full, up to 2^maxNodeBits nodes. When the tree is full, its leaves are evaluated
+ * by play-outs without being expanded.
+ */
+public class UCTNode {
+    public static final int NONE = -1;
+    private static final DecimalFormat df2 = new DecimalFormat("###,##0.000");
+    // Ordered access to the elements of the arrays that are shared by the threads of a tree parallel search
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int LOCKS = 1024;
+    //
+    private final Options options;
+    private final TransposTable tt;
+    // The tree grows up to maxCapacity nodes if it is searched by a single thread
+    private final int maxCapacity;
+    private int capacity;
+    // :: The nodes, the first child is NONE until the node is expanded
+    private long[] hash;
+    private int[] move, state, firstChild;
+    private short[] nChildren;
+    private byte[] player;
+    private boolean[] simulated;
+    // :: Tree parallel search only, null otherwise
+    private final int[] virtualLoss;
+    private final Object[] locks;
+    // The number of nodes in use, the threads of a tree parallel search expand concurrently
+    private final AtomicInteger size = new AtomicInteger();
+    // Play-out quality per player, kept per thread since root parallel trees are searched concurrently
+    private static final ThreadLocal<StatCounter[]> qualityStats =
+            ThreadLocal.withInitial(() -> new StatCounter[]{new StatCounter(), new StatCounter()});
+    // The moves of the node being expanded, per thread
+    private static final ThreadLocal<MoveList> expandMoves =
+            ThreadLocal.withInitial(() -> new MoveList(Board.MAX_MOVES));
+
+    /**
+     * @param bits The tree holds 2^bits nodes, and grows up to 2^maxNodeBits nodes unless it is searched by multiple
+     *             threads
+     */
+    public UCTNode(int bits, Options options, TransposTable tt) {
+        this.options = options;
+        this.tt = tt;
+        this.capacity = 1 << bits;
+        this.maxCapacity = options.treeParallel ? capacity : 1 << Math.max(bits, options.maxNodeBits);
+        hash = new long[capacity];
+        move = new int[capacity];
+        state = new int[capacity];
+        firstChild = new int[capacity];
+        nChildren = new short[capacity];
+        player = new byte[capacity];
+        simulated = new boolean[capacity];
+        if (options.treeParallel) {
+            virtualLoss = new int[capacity];
+            locks = new Object[LOCKS];
+            for (int i = 0; i < LOCKS; i++)
+                locks[i] = new Object();
+        } else {
+            virtualLoss = null;
+            locks = null;
+        }
+    }
+
+    /**
+     * Clear the tree and add the root for the given board
+     *
+     * @return The root
+     */
+    public int reset(Board board) {
+        size.set(1);
+        init(0, board.getPlayerToMove(), 0, board.hash());
+        return 0;
+    }
+
+    /**
+     * Make the subtree of the node the whole tree. The subtree is moved to the front of the arrays in the order of the
+     * nodes, since children are stored after their parent, no node is overwritten before it is moved.
+     *
+     * @return The new root
+     */
+    public int keep(int node) {
+        int end = size.get(), n = 0;
+        // The nodes of the subtree that are not yet moved have their move complemented. The first child of a block
+        // holds the new index of its parent in its state, encoded as -2 - parent, its state is looked up again.
+        move[node] = ~move[node];
+        for (int i = node; i < end; i++) {
+            if (move[i] >= 0)
+                continue;
+            int s = state[i];
+            if (s <= -2) {
+                firstChild[-2 - s] = n;
+                s = tt.getState(hash[i], true);
+            }
+            int first = firstChild[i], c = nChildren[i];
+            hash[n] = hash[i];
+            move[n] = ~move[i];
+            state[n] = s;
+            player[n] = player[i];
+            simulated[n] = simulated[i];
+            nChildren[n] = (short) c;
+            // Set to the new index when the first child is moved
+            firstChild[n] = first;
+            if (virtualLoss != null)
+                virtualLoss[n] = 0;
+            if (c > 0) {
+                for (int j = first; j < first + c; j++)
+                    move[j] = ~move[j];
+                state[first] = -2 - n;
+            }
+            n++;
+        }
+        size.set(n);
+        return 0;
+    }
+
+    private void init(int node, int player, int move, long hash) {
+        this.player[node] = (byte) player;
+        this.move[node] = move;
+        this.hash[node] = hash;
+        this.state[node] = tt.getState(hash, true);
+        this.firstChild[node] = NONE;
+        this.nChildren[node] = 0;
+        this.simulated[node] = false;
+        if (virtualLoss != null)
+            virtualLoss[node] = 0;
+    }
+
+    /**
+     * @return True if a node with the most possible children can be expanded, the tree is grown if it is full
+     */
+    private boolean hasRoom() {
+        if (size.get() + Board.MAX_MOVES <= capacity)
+            return true;
+        if (capacity == maxCapacity)
+            return false;
+        // Only a tree searched by a single thread grows, no other thread uses the arrays
+        capacity = Math.min(2 * capacity, maxCapacity);
+        hash = Arrays.copyOf(hash, capacity);
+        move = Arrays.copyOf(move, capacity);
+        state = Arrays.copyOf(state, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        nChildren = Arrays.copyOf(nChildren, capacity);
+        player = Arrays.copyOf(player, capacity);
+        simulated = Arrays.copyOf(simulated, capacity);
+        return true;
+    }
+
+    /**
+     * @return The first of n consecutive free nodes, or NONE if the tree is full
+     */
+    private int allocate(int n) {
+        while (true) {
+            int first = size.get();
+            if (first + n > capacity)
+                return NONE;
+            if (size.compareAndSet(first, first + n))
+                return first;
+        }
+    }
+
+    /**
+     * Run the MCTS algorithm on the given node.
+     *
+     * @param board The current board, moves are made in place and undone before returning
+     * @param leaf  Runs a batch of play-outs at the leaf, or null for a single play-out
+     * @param stats The statistics of the search thread
+     * @return the currently evaluated playout value of the node
+     */
+    public double MCTS(int node, Board board, int depth, LeafPlayouts leaf, SearchStats stats) {
+        if (board.hash() != hash[node])
+            throw new RuntimeException("Incorrect hash");
+
+        int child = NONE;
+        // First add some leafs if required
+        if (!isExpanded(node)) {
+            synchronized (lock(node)) {
+                // Expand returns any node that leads to a win
+                if (!isExpanded(node)) {
+                    long t = stats.start(SearchStats.EXPAND);
+                    child = expand(node, board, stats);
+                    stats.end(SearchStats.EXPAND, t);
+                }
+            }
+        }
+        double result;
+        // Select the best child, if we didn't find a winning position in the expansion
+        if (child == NONE) {
+            if (isTerminal(node)) {
+                // A terminal node is a loss, its proof may have been replaced in the transposition table
+                setSolved(node, true);
+                stats.proofs++;
+                return -TransposTable.INF;
+            }
+            if (!isExpanded(node)) {
+                // The tree is full, the node is evaluated as a leaf
+                long t = stats.start(SearchStats.PLAYOUT);
+                result = -((leaf != null) ? leaf.playOut(this, node, board, stats) : playOut(node, board, stats));
+                stats.end(SearchStats.PLAYOUT, t);
+                t = stats.start(SearchStats.BACKUP);
+                updateStats(node, result, visits(leaf));
+                stats.end(SearchStats.BACKUP, t);
+                return result;
+            }
+            long t = stats.start(SearchStats.SELECT);
+            child = select(node, board.getRandom());
+            stats.end(SearchStats.SELECT, t);
+        }
+
+        // (Solver) Check for proven win / loss / draw
+        if (Math.abs(getValue(child)) != TransposTable.INF) {
+            // Other threads see the child as lost until the result is back-propagated
+            if (options.treeParallel)
+                INTS.getAndAdd(virtualLoss, child, options.virtualLoss);
+            // Execute the move represented by the child
+            board.doMove(move[child], options.earlyTerm);
+            // When a leaf is reached return the result of the playout, two threads may both play out a new leaf
+            if (!simulated[child]) {
+                long t = stats.start(SearchStats.PLAYOUT);
+                result = (leaf != null) ? leaf.playOut(this, child, board, stats) : playOut(child, board, stats);
+                stats.end(SearchStats.PLAYOUT, t);
+                t = stats.start(SearchStats.BACKUP);
+                updateStats(child, -result, visits(leaf));
+                stats.end(SearchStats.BACKUP, t);
+                simulated[child] = true;
+                stats.reached(depth + 1);
+            } else {
+                result = -MCTS(child, board, depth + 1, leaf, stats);
+            }
+            board.undoMove();
+            if (options.treeParallel)
+                INTS.getAndAdd(virtualLoss, child, -options.virtualLoss);
+        } else {
+            result = getValue(child);
+        }
+
+        // (Solver) If one of the children is a win, then I'm a win
+        if (result == TransposTable.INF) {
+            // If I have a win, my parent has a loss.
+            setSolved(node, false);
+            stats.proofs++;
+            return result;
+        } else if (result == -TransposTable.INF && isExpanded(node)) {
+            // (Solver) Check if all children are a loss
+            int first = firstChild[node], last = first + nChildren[node];
+            for (int c = first; c < last; c++) {
+                // Are all children a loss?
+                if (getValue(c) != result) {
+                    // Return a single loss, if not all children are a loss
+                    if (leaf != null)
+                        leaf.visits = 1;
+                    updateStats(node, 1, 1);
+                    return -1;
+                }
+            }
+            setSolved(node, true);
+            stats.proofs++;
+            return result; // always return in view of me
+        }
+        if (Math.abs(getValue(node)) != TransposTable.INF) {
+            // Update the results for the current node
+            long t = stats.start(SearchStats.BACKUP);
+            updateStats(node, result, visits(leaf));
+            stats.end(SearchStats.BACKUP, t);
+        } else
+            // Sometimes the node becomes solved deeper in the tree, the value is in view of the parent
+            return -getValue(node);
+
+        // Back-propagate the result always return in view of me
+        return result;
+    }
+
+    private int expand(int node, Board board, SearchStats stats) {
+        int nextPlayer = (3 - board.getPlayerToMove());
+        // If one of the nodes is a win, we don't have to select
+        int winNode = NONE;
+        int winner = board.checkWin();
+        // Board is terminal, don't expand
+        if (winner != Board.NONE_WIN) {
+            // Expanded without children
+            INTS.setRelease(firstChild, node, 0);
+            return NONE;
+        }
+        // The tree is full, the node remains a leaf, checked before the moves are generated
+        if (!hasRoom())
+            return NONE;
+        MoveList moves = board.getExpandMoves(expandMoves.get(), null);
+        int first = allocate(moves.size());
+        // Other threads of a tree parallel search filled the tree
+        if (first == NONE)
+            return NONE;
+        stats.expansions++;
+        int best_imVal = getImValue(node);
+        int move;
+        // Add all moves as children to the current node
+        for (int i = 0; i < moves.size(); i++) {
+            move = moves.get(i);
+            int child = first + i;
+            // The child's hash is computed incrementally, the move itself is not made
+            init(child, nextPlayer, move, board.hashAfter(move));
+
+            if (Math.abs(getValue(child)) != TransposTable.INF) {
+                // Check for a winner, (Solver)
+                if (board.isWinningMove(move)) {
+                    winNode = child;
+                    setSolved(child, true);
+                    stats.proofs++;
+                } else if (options.nodePriors && getVisits(child) == 0) {
+                    // This should be board, in order to "simulate" the result of the move
+                    // otherwise you cannot detect captures
+                    double npRate = board.npWinrate(player[node], move);
+                    int childState = getState(child, false);
+                    if (childState != TransposTable.NONE)
+                        tt.init(childState, (int) (npRate * options.npVisits), options.npVisits);
+                }
+            }
+            // implicit minimax, requires the board after the move
+            if (options.imm) {
+                board.doMove(move, options.earlyTerm);
+                int imVal = board.evaluate(player[node], options.test);
+                board.undoMove();
+                setImValue(child, imVal); // view of parent
+                if (imVal > best_imVal)
+                    best_imVal = imVal;
+            }
+        }
+        // The children are published at once when they are complete
+        nChildren[node] = (short) moves.size();
+        INTS.setRelease(firstChild, node, first);
+        if (options.imm)
+            setImValue(node, -best_imVal);
+
+        // If one of the nodes is a win, return it.
+        return winNode;
+    }
+
+    /**
+     * Select a child by UCT. The terms of the parent are computed once, the visits and values of a child are read
+     * once. Ties are broken uniformly at random, by reservoir sampling over the tied children.
+     */
+    private int select(int node, Random r) {
+        int first = firstChild[node], n = nChildren[node];
+        int maxIm = Integer.MIN_VALUE, minIm = Integer.MAX_VALUE;
+
+        // Use UCT down the tree
+        double np = getVisits(node);
+        // A single pass for the visits of the children and the range of their implicit minimax values
+        if (options.nodePriors || options.imm) {
+            if (options.nodePriors)
+                np = 0;
+            for (int c = first; c < first + n; c++) {
+                if (options.nodePriors)
+                    np += getVisits(c);
+                if (options.imm) {
+                    int val = getImValue(c);
+                    if (val > maxIm)
+                        maxIm = val;
+                    if (val < minIm)
+                        minIm = val;
+                }
+            }
+        }
+        // The state of this node may have been replaced in the transposition table
+        if (np < 1)
+            np = 1;
+        double explore = options.C * FastLog.sqrtLog(np);
+        boolean imm = options.imm && minIm != maxIm;
+        double imRange = maxIm - (double) minIm;
+
+        int selected = NONE, ties = 0;
+        double max = Double.NEGATIVE_INFINITY, uctValue;
+        // Select a child according to the UCT Selection policy
+        for (int c = first; c < first + n; c++) {
+            long st = readStats(c);
+            double value = TransposTable.statsMean(st), visits = TransposTable.statsVisits(st), nc = visits;
+            int vl = (virtualLoss != null) ? (int) INTS.getVolatile(virtualLoss, c) : 0;
+            // Always select a proven win
+            if (value == TransposTable.INF)
+                uctValue = TransposTable.INF;
+            else if (value == -TransposTable.INF)
+                uctValue = -TransposTable.INF;
+            else if (nc == 0 && vl == 0) {
+                // First, visit all children at least once
+                uctValue = 100.;
+            } else {
+                double avgValue = value;
+                // Virtual loss, the simulations of other threads through the child count as losses
+                if (vl > 0) {
+                    avgValue = (avgValue * nc - vl) / (nc + vl);
+                    nc += vl;
+                }
+
+                // Linear regression TODO Check if player value is correct!
+                if(options.regression && visits > 5) {
+                    double regVal = tt.getRegressionValue(getState(c, false), options.rs, player[node]);
+                    if(!Double.isNaN(regVal))
+                        avgValue = (1. - options.rf) * avgValue +  options.rf * regVal;
+                }
+
+                // Implicit minimax
+                if (imm) {
+                    double imVal = (getImValue(c) - minIm) / imRange;
+                    avgValue = (1. - options.imAlpha) * avgValue + (options.imAlpha * imVal);
+                }
+                // Compute the uct value with the (new) average value
+                uctValue = avgValue + explore / Math.sqrt(nc);
+            }
+            // Remember the highest UCT value, the i-th tied child replaces the selected one with probability 1 / i
+            if (uctValue > max) {
+                selected = c;
+                max = uctValue;
+                ties = 1;
+            } else if (uctValue == max && r.nextInt(++ties) == 0) {
+                selected = c;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @return The number of play-outs backed up in the current simulation
+     */
+    private static int visits(LeafPlayouts leaf) {
+        return (leaf != null) ? leaf.visits : 1;
+    }
+
+    /**
+     * @param stats Records the play-out if profiling is on
+     */
+    double playOut(int node, Board board, SearchStats stats) {
+        int winner = board.checkWin(), nMoves = 0;
+        int move;
+        boolean interrupted = false;
+        while (winner == Board.NONE_WIN && !interrupted) {
+            move = board.getPlayoutMove(options.heuristics);
+            board.doMove(move, options.earlyTerm);
+            winner = board.checkWin();
+            nMoves++;
+            if (winner == Board.NONE_WIN && options.earlyTerm && nMoves == options.termDepth)
+                interrupted = true;
+        }
+
+        double score = 0.;
+        if (!interrupted) {
+            if(options.earlyTerm) {
+                if (winner == player[node]) score = options.etWv;
+                else score = -options.etWv;
+            } else {
+                if (winner == player[node]) score = 1.0;
+                else score = -1.0;
+            }
+
+            // Qualitative bonus
+            if (options.qualityBonus) {
+                int w = winner - 1;
+                StatCounter[] qualityStats = UCTNode.qualityStats.get();
+                // Only compute the quality if QB is active, since it may be costly to do so
+                double q = board.getQuality();
+                if (qualityStats[w].variance() > 0. && qualityStats[w].visits() >= 50) {
+                    double qb = (q - qualityStats[w].mean()) / qualityStats[w].stddev();
+                  score += Math.signum(score) * .25 * FastSigm.sigm(-options.kq * qb);
+                }
+                qualityStats[w].push(q);
+            }
+
+        } else {
+            double eval = board.evaluate(player[node], options.test);
+            //System.out.println(eval);
+            if (eval > options.etT)
+                score = 1;
+            else if (eval < -options.etT)
+                score = -1;
+        }
+        stats.playedOut(nMoves, interrupted, score != 0);
+        // Restore the board to the state before the playout
+        for (; nMoves > 0; nMoves--)
+            board.undoMove();
+        return score;
+    }
+
+    /**
+     * @return The best child of the node, or NONE if it has no children
+     */
+    public int getBestChild(int node, Random r, boolean print) {
+
+        if (!isExpanded(node))
+            return NONE;
+
+        double max = Double.NEGATIVE_INFINITY, value;
+        int bestChild = NONE;
+        int first = firstChild[node], last = first + nChildren[node];
+
+        for (int t = first; t < last; t++) {
+            // If there are children with INF value, choose one of them
+            if (getValue(t) == TransposTable.INF)
+                value = TransposTable.INF + r.nextDouble();
+            else if (getValue(t) == -TransposTable.INF)
+                value = -TransposTable.INF + getVisits(t) + r.nextDouble();
+            else {
+                value = getVisits(t);
+            }
+
+            if (value > max) {
+                max = value;
+                bestChild = t;
+            }
+
+            if (print)
+                System.out.println(toString(t));
+        }
+        return bestChild;
+    }
+
+    public String getPV(int node, Random r) {
+        int child = getBestChild(node, r, false);
+        StringBuilder sb = new StringBuilder();
+        while (child != NONE) {
+            sb.append(Board.getMoveString(move[child])).append(" v: ").append(df2.format(getValue(child))).append(" ");
+            child = getBestChild(child, r, false);
+        }
+        if (sb.length() > 0)
+            sb.deleteCharAt(sb.length() - 1);
+        return sb.toString();
+    }
+
+    /**
+     * @param value The mean result of the n play-outs
+     */
+    private void updateStats(int node, double value, int n) {
+        int s = getState(node, false);
+        // The shared transposition table may have no room for the state
+        if (s == TransposTable.NONE)
+            return;
+        tt.updateStats(s, value, n, options.regression);
+        // implicit minimax backups
+        if (options.imm && isExpanded(node)) {
+            int bestVal = Integer.MIN_VALUE;
+            int first = firstChild[node], last = first + nChildren[node];
+            for (int c = first; c < last; c++) {
+                if (getImValue(c) > bestVal) bestVal = getImValue(c);
+            }
+            setImValue(node, -bestVal);       // view of parent
+        }
+    }
+
+    private void setSolved(int node, boolean win) {
+        int s = getState(node, false);
+        if (s == TransposTable.NONE)
+            return;
+
+        if (win) {// win for the parent player
+            tt.setSolved(s, 3 - player[node]);
+        } else {
+            tt.setSolved(s, player[node]);
+        }
+    }
+
+    private void setImValue(int node, int imValue) {
+        int s = getState(node, false);
+        if (s == TransposTable.NONE)
+            return;
+
+        if (tt.getImValue(s) == Integer.MIN_VALUE)
+            tt.setImValue(s, imValue);
+    }
+
+    private int getImValue(int node) {
+        int s = getState(node, false);
+        if (s == TransposTable.NONE)
+            return Integer.MIN_VALUE;
+        return tt.getImValue(s);
+    }
+
+    /**
+     * @return The value of the node with respect to the parent
+     */
+    public double getValue(int node) {
+        int s = getState(node, true);
+        if (s == TransposTable.NONE)
+            return 0.;
+        return tt.getMean(s, 3 - player[node]);
+    }
+
+    /**
+     * @return The number of visits of the transposition
+     */
+    public double getVisits(int node) {
+        int s = getState(node, true);
+        if (s == TransposTable.NONE)
+            return 0.;
+        return tt.getVisits(s);
+    }
+
+    /**
+     * Read the value of the node with respect to the parent and the visits of the transposition together, with a
+     * single lock of a shared transposition table
+     *
+     * @return The value and the visits packed by TransposTable.getStats, both 0 if the state is not in the table
+     */
+    private long readStats(int node) {
+        long st = tt.getStats(state[node], hash[node], 3 - player[node]);
+        if (st != TransposTable.NO_STATS)
+            return st;
+        int s = state[node] = tt.getState(hash[node], true);
+        st = tt.getStats(s, hash[node], 3 - player[node]);
+        return (st != TransposTable.NO_STATS) ? st : 0L;
+    }
+
+    /**
+     * @param existingOnly If false the state is updated next, and is pinned in a shared transposition table
+     * @return The handle of the state, the element is read once since other threads may update it
+     */
+    private int getState(int node, boolean existingOnly) {
+        int s = state[node];
+        if (!(existingOnly ? tt.isState(s, hash[node]) : tt.pin(s, hash[node])))
+            state[node] = s = tt.getState(hash[node], existingOnly);
+        return s;
+    }
+
+    /**
+     * Reset the play-out quality statistics of the current thread
+     */
+    public static void resetQualityStats() {
+        qualityStats.get()[0].reset();
+        qualityStats.get()[1].reset();
+    }
+
+    /**
+     * @return The lock that guards the expansion of the node
+     */
+    private Object lock(int node) {
+        return (locks != null) ? locks[node & (LOCKS - 1)] : this;
+    }
+
+    private boolean isExpanded(int node) {
+        return (int) INTS.getAcquire(firstChild, node) != NONE;
+    }
+
+    public TransposTable getTT() {
+        return tt;
+    }
+
+    public long getHash(int node) {
+        return hash[node];
+    }
+
+    public int getMove(int node) {
+        return move[node];
+    }
+
+    /**
+     * @return The first child of the node, the children are stored consecutively
+     */
+    public int getFirstChild(int node) {
+        return isExpanded(node) ? firstChild[node] : NONE;
+    }
+
+    public int getChildCount(int node) {
+        return isExpanded(node) ? nChildren[node] : 0;
+    }
+
+    /**
+     * @return The child with the given hash, or NONE if it is not in the tree
+     */
+    public int getChild(int node, long hash) {
+        if (!isExpanded(node))
+            return NONE;
+        int first = firstChild[node], last = first + nChildren[node];
+        for (int c = first; c < last; c++) {
+            if (this.hash[c] == hash)
+                return c;
+        }
+        return NONE;
+    }
+
+    public boolean isTerminal(int node) {
+        return isExpanded(node) && nChildren[node] == 0;
+    }
+
+    /**
+     * @return The number of nodes in the tree
+     */
+    public int size() {
+        return size.get();
+    }
+
+    public String toString(int node) {
+        if (tt.isState(state[node], hash[node]))
+            return Board.getMoveString(move[node]) + " " + tt.toString(state[node]);
+        else
+            return Board.getMoveString(move[node]);
+    }
+}
@@ -0,0 +1,352 @@
+package mcts.uct;
+
+import breakthrough.game.Board;
+import framework.AIPlayer;
+import framework.Options;
+import framework.SearchStats;
+import framework.util.AllocationCounter;
+import framework.util.FastRandom;
+import mcts.transpos.ConcurrentTransposTable;
+import mcts.transpos.TransposTable;
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.knowm.xchart.*;
+import org.knowm.xchart.style.Styler;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class UCTPlayer implements AIPlayer {
+
+    private static final DecimalFormat df2 = new DecimalFormat("###,##0.000");
+    private TransposTable tt;
+    private UCTNode tree;
+    // The best child of the previous search, NONE if the tree was not searched
+    private int root = UCTNode.NONE;
+    // Root parallel search, a tree and transposition table per thread
+    private TransposTable[] tts;
+    private UCTNode[] trees;
+    private int[] roots;
+    // Parallel search, a random generator per thread
+    private Random[] randoms;
+    private ExecutorService pool;
+    // Leaf parallel play-outs, shared by the search threads
+    private ExecutorService leafPool;
+    private int bestMove;
+    private SearchStats stats;
+    private final AllocationCounter allocations = new AllocationCounter();
+    //
+    private Options options;
+
+    @Override
+    public void getMove(Board board) {
+        if (options == null)
+            throw new RuntimeException("MCTS Options not set.");
+        if (options.threads > 1 && !options.treeParallel) {
+            getMoveParallel(board);
+            return;
+        }
+
+        // Reuse the subtree of the opponent's move, the root was set to the previous best child
+        root = reuse(tree, root, board);
+        stats = new SearchStats(options.profile);
+        allocations.start();
+        long startT = System.currentTimeMillis();
+        if (options.threads > 1)
+            searchShared(board);
+        else
+            search(tree, root, board, stats);
+        long endT = System.currentTimeMillis();
+        // Return the best move found
+        int bestChild = tree.getBestChild(root, board.getRandom(), options.debug);
+        bestMove = tree.getMove(bestChild);
+        finishStats(board, endT - startT);
+        tt.addStats(stats);
+
+        // show information on the best move
+        if (options.debug) {
+            System.out.println("Player " + board.getPlayerToMove());
+            System.out.println("Best child: " + tree.toString(bestChild));
+            System.out.println("Tree: " + tree.size() + " nodes");
+            System.out.println(stats);
+        }
+        // Transpositions not used in this or the next move become stale
+        tt.nextGeneration();
+        // Set the root to the best child, so in the next move, the opponent's move can become the new root
+        root = bestChild;
+    }
+
+    /**
+     * @return The root for the board, the child of the previous root for the board's position moved to the front of
+     * the tree if there is one, otherwise the root of a new tree
+     */
+    private static int reuse(UCTNode tree, int previous, Board board) {
+        int reused = (previous != UCTNode.NONE) ? tree.getChild(previous, board.hash()) : UCTNode.NONE;
+        if (reused != UCTNode.NONE)
+            return tree.keep(reused);
+        return tree.reset(board);
+    }
+
+    /**
+     * Run simulations from the root until the time or simulation budget is spent, the play-outs are counted in stats
+     */
+    private void search(UCTNode tree, int root, Board board, SearchStats stats) {
+        TransposTable tt = tree.getTT();
+        UCTNode.resetQualityStats();
+        LeafPlayouts leaf = null;
+        if (options.leafPlayouts > 1)
+            leaf = new LeafPlayouts(options.leafPlayouts, leafPool, board.getRandom(), options.profile);
+        int simulations = 0, playouts = 0;
+        if (!options.fixSimulations) {
+            // Search for timeInterval seconds
+            long endTime = System.currentTimeMillis() + options.timeLimit;
+            // Run the MCTS algorithm while time allows it
+            while (true) {
+                simulations++;
+                // Incrementally remove the stale transpositions
+                if (simulations % TransposTable.SWEEP_INTERVAL == 0)
+                    tt.sweep();
+                if (System.currentTimeMillis() >= endTime)
+                    break;
+                // Make one simulation from root to leaf.
+                double result = tree.MCTS(root, board, 0, leaf, stats);
+                playouts += (leaf != null) ? leaf.visits : 1;
+                if (Math.abs(result) == TransposTable.INF)
+                    break; // Break if you find a winning move
+            }
+        } else {
+            // Run as many play-outs as allowed
+            while (playouts <= options.timeLimit) {
+                simulations++;
+                // Incrementally remove the stale transpositions
+                if (simulations % TransposTable.SWEEP_INTERVAL == 0)
+                    tt.sweep();
+                // Make one simulation from root to leaf.
+                // Note: stats at the root node are in view of the root player (also never used)
+                double result = tree.MCTS(root, board, 0, leaf, stats);
+                playouts += (leaf != null) ? leaf.visits : 1;
+                if (Math.abs(result) == TransposTable.INF)
+                    break; // Break if you find a winning move
+            }
+        }
+        stats.playouts += playouts;
+        if (leaf != null)
+            leaf.addStats(stats);
+    }
+
+    /**
+     * Tree parallel search, all threads search the shared tree from the root on their own board. With a simulation
+     * budget, every thread runs the full budget.
+     */
+    private void searchShared(Board board) {
+        List<Future<?>> results = new ArrayList<>(options.threads);
+        SearchStats[] threadStats = new SearchStats[options.threads];
+        for (int i = 0; i < options.threads; i++) {
+            Board threadBoard = board.clone();
+            // Seeded from the game's generator, so a seeded game is reproducible
+            randoms[i].setSeed(board.getRandom().nextLong());
+            threadBoard.setRandom(randoms[i]);
+            SearchStats ts = threadStats[i] = new SearchStats(options.profile);
+            results.add(pool.submit(() -> search(tree, root, threadBoard, ts)));
+        }
+        await(results, threadStats);
+    }
+
+    /**
+     * Root parallel search, every thread searches its own tree with its own transposition table and random
+     * generator. With a simulation budget, every tree runs the full budget.
+     */
+    private void getMoveParallel(Board board) {
+        List<Future<?>> results = new ArrayList<>(options.threads);
+        SearchStats[] threadStats = new SearchStats[options.threads];
+        stats = new SearchStats(options.profile);
+        allocations.start();
+        long startT = System.currentTimeMillis();
+        for (int i = 0; i < options.threads; i++) {
+            roots[i] = reuse(trees[i], roots[i], board);
+            // Every thread makes its moves on its own board
+            Board threadBoard = board.clone();
+            // Seeded from the game's generator, so a seeded game is reproducible
+            randoms[i].setSeed(board.getRandom().nextLong());
+            threadBoard.setRandom(randoms[i]);
+            UCTNode threadTree = trees[i];
+            int threadRoot = roots[i];
+            SearchStats ts = threadStats[i] = new SearchStats(options.profile);
+            results.add(pool.submit(() -> search(threadTree, threadRoot, threadBoard, ts)));
+        }
+        await(results, threadStats);
+        long endT = System.currentTimeMillis();
+        bestMove = mergeRoots();
+        finishStats(board, endT - startT);
+
+        if (options.debug) {
+            System.out.println("Player " + board.getPlayerToMove());
+            System.out.println("Best move: " + Board.getMoveString(bestMove) + " in " + options.threads + " trees");
+            System.out.println(stats);
+        }
+        long bestHash = board.hashAfter(bestMove);
+        for (int i = 0; i < options.threads; i++) {
+            tts[i].addStats(stats);
+            tts[i].nextGeneration();
+            roots[i] = trees[i].getChild(roots[i], bestHash);
+        }
+    }
+
+    /**
+     * Wait for the searching threads and add up their statistics
+     */
+    private void await(List<Future<?>> results, SearchStats[] threadStats) {
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException("Parallel search failed", e);
+            }
+        }
+        for (SearchStats ts : threadStats)
+            stats.add(ts);
+    }
+
+    private void finishStats(Board board, long time) {
+        stats.player = board.getPlayerToMove();
+        stats.move = bestMove;
+        stats.time = time;
+        stats.allocatedBytes = allocations.allocatedBytes();
+    }
+
+    /**
+     * Merge the children of the root parallel trees
+     *
+     * @return The move of the child with the most visits over all trees, or a child proven to be a win in any tree
+     */
+    private int mergeRoots() {
+        int first = trees[0].getFirstChild(roots[0]);
+        if (first == UCTNode.NONE)
+            throw new RuntimeException("Root of the first tree is not expanded");
+        double max = Double.NEGATIVE_INFINITY, value;
+        int best = 0;
+        for (int c = first; c < first + trees[0].getChildCount(roots[0]); c++) {
+            double visits = 0, sum = 0;
+            boolean win = false, loss = false;
+            for (int i = 0; i < trees.length; i++) {
+                int rc = trees[i].getChild(roots[i], trees[0].getHash(c));
+                if (rc == UCTNode.NONE)
+                    continue;
+                double v = trees[i].getValue(rc), n = trees[i].getVisits(rc);
+                if (v == TransposTable.INF)
+                    win = true;
+                else if (v == -TransposTable.INF)
+                    loss = true;
+                else
+                    sum += v * n;
+                visits += n;
+            }
+            if (win)
+                value = TransposTable.INF + visits;
+            else if (loss)
+                value = -TransposTable.INF + visits;
+            else
+                value = visits;
+
+            if (options.debug)
+                System.out.println(Board.getMoveString(trees[0].getMove(c)) + " " + (win ? "win" : loss ? "loss" :
+                        df2.format(sum / Math.max(1, visits))) + "\tn:" + visits);
+            if (value > max) {
+                max = value;
+                best = trees[0].getMove(c);
+            }
+        }
+        return best;
+    }
+
+    private XYChart getScatterPlot(List<Double> yData, SimpleRegression simpleRegression, String name) {
+        XYChart chart = new XYChartBuilder().width(800).height(600).build();
+
+        // Customize Chart
+        chart.getStyler().setChartTitleVisible(false);
+        chart.getStyler().setLegendPosition(Styler.LegendPosition.InsideSW);
+        chart.getStyler().setMarkerSize(2);
+
+        int n = yData.size();
+        // Series
+        List<Integer> xData = new ArrayList<>();
+        List<Double> rData = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            xData.add(i);
+            rData.add(0, simpleRegression.predict(n - i));
+        }
+
+        chart.addSeries(name, xData, yData.subList(n - 1000, n)).
+                setXYSeriesRenderStyle(XYSeries.XYSeriesRenderStyle.Scatter);
+        chart.addSeries("Regression", xData, rData);
+        return chart;
+    }
+
+    public void setOptions(Options options) {
+        // The threads of the previous options are not reused
+        close();
+        this.options = options;
+        root = UCTNode.NONE;
+        if (options.threads > 1) {
+            randoms = new Random[options.threads];
+            for (int i = 0; i < options.threads; i++)
+                randoms[i] = new FastRandom();
+            pool = newPool(options.threads, allocations);
+        }
+        if (options.leafPlayouts > 1 && options.leafThreads > 0)
+            leafPool = newPool(options.leafThreads, allocations);
+        if (options.threads > 1 && options.treeParallel) {
+            if (options.offHeapTT)
+                throw new RuntimeException("Tree parallel search does not support an off-heap transposition table");
+            this.tt = new ConcurrentTransposTable(options.ttBits, options.ttReplace);
+            this.tree = new UCTNode(options.nodeBits, options, tt);
+        } else if (options.threads > 1) {
+            tts = new TransposTable[options.threads];
+            trees = new UCTNode[options.threads];
+            roots = new int[options.threads];
+            Arrays.fill(roots, UCTNode.NONE);
+            for (int i = 0; i < options.threads; i++) {
+                tts[i] = TransposTable.create(options.ttBits, options.ttReplace, options.offHeapTT);
+                trees[i] = new UCTNode(options.nodeBits, options, tts[i]);
+            }
+        } else {
+            this.tt = TransposTable.create(options.ttBits, options.ttReplace, options.offHeapTT);
+            this.tree = new UCTNode(options.nodeBits, options, tt);
+        }
+    }
+
+    private static ExecutorService newPool(int threads, AllocationCounter allocations) {
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            allocations.register(t);
+            return t;
+        });
+    }
+
+    @Override
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null)
+            pool.shutdown();
+        if (leafPool != null)
+            leafPool.shutdown();
+        pool = leafPool = null;
+    }
+}
+
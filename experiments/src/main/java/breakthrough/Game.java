@@ -6,8 +6,6 @@ import framework.Options;
 import mcts.SHOT.SHOTPlayer;
 import mcts.uct.UCTPlayer;
 
-import java.util.Arrays;
-
 public class Game {
 
     public static void main(String[] args) {
@@ -38,7 +36,7 @@ public class Game {
         }
 
         AIPlayer aiPlayer;
-        int[] m;
+        int m;
         //
         while (b.checkWin() == Board.NONE_WIN) {
             int player = b.getPlayerToMove();
@@ -52,7 +50,7 @@ public class Game {
             m = aiPlayer.getBestMove();
             b.doMove(m, true);
 
-            System.out.println("Player " + player + " played " + Arrays.toString(m));
+            System.out.println("Player " + player + " played " + Board.getMoveString(m));
 
             if (timed && player == timedPlayer) {
                 // Allocate the time spent to the non-fixed player
@@ -63,6 +61,8 @@ public class Game {
         }
 
         System.out.println("Winner is " + b.checkWin());
+        aiPlayer1.close();
+        aiPlayer2.close();
     }
 
 }
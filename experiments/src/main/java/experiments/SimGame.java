@@ -3,14 +3,24 @@ package experiments;
 import breakthrough.game.Board;
 import framework.AIPlayer;
 import framework.Options;
+import framework.SearchStats;
 import framework.util.FastLog;
+import framework.util.FastRandom;
 import framework.util.FastSigm;
+import framework.util.StatsSink;
 import mcts.H_MCTS.HybridPlayer;
 import mcts.SHOT.SHOTPlayer;
+import mcts.transpos.BaseTransposTable;
 import mcts.uct.UCTPlayer;
 
+import java.io.File;
+import java.io.PrintStream;
+
 /**
  * Runs a single experiment. Options are sent by command-line.
+ * <p>
+ * A player is given as algorithm_tag_tag..., e.g. uct_np_imm_tt20_nb18. The tags tt&lt;bits&gt; and nb&lt;bits&gt; set
+ * the size of the transposition table to 2^bits states and the initial size of the UCT tree to 2^bits nodes.
  */
 
 public class SimGame {
@@ -21,6 +31,10 @@ public class SimGame {
     private int timeLimit, timedPlayer;
     private long seed;
     private boolean printBoard, timed, mctsDebug;
+    private PrintStream out = System.out;
+    // The statistics of every search are written to the sink, if set
+    private StatsSink statsSink;
+    private String runName;
 
     public SimGame() {
         p1label = "none specified";
@@ -34,10 +48,34 @@ public class SimGame {
         seed = System.currentTimeMillis();
     }
 
+    /**
+     * A game of which the output is written to out, used to play several games in one JVM
+     */
+    public SimGame(String p1label, String p2label, int timeLimit, long seed, PrintStream out) {
+        this();
+        this.p1label = p1label;
+        this.p2label = p2label;
+        this.timeLimit = timeLimit;
+        this.seed = seed;
+        this.out = out;
+    }
+
     public static void main(String[] args) {
         SimGame sim = new SimGame();
         sim.parseArgs(args);
         sim.run();
+        if (sim.statsSink != null)
+            sim.statsSink.close();
+    }
+
+    /**
+     * Write the statistics of the searches of both players to the sink
+     *
+     * @param runName Identifies the game in the statistics
+     */
+    public void setStatsSink(StatsSink statsSink, String runName) {
+        this.statsSink = statsSink;
+        this.runName = runName;
     }
 
     public void parseArgs(String[] args) {
@@ -54,7 +92,9 @@ public class SimGame {
             } else if (args[i].equals("--seed")) {
                 i++;
                 seed = Long.parseLong(args[i]);
-                Options.r.setSeed(seed);
+            } else if (args[i].equals("--stats")) {
+                i++;
+                setStatsSink(new StatsSink(new File(args[i])), null);
             } else if (args[i].equals("--printboard")) {
                 printBoard = true;
             } else if (args[i].equals("--game")) {
@@ -119,6 +159,28 @@ public class SimGame {
                 options.imm = true;
                 if (tag.length() > 3)
                     options.imAlpha = Double.parseDouble(tag.substring(3));
+            } else if(tag.startsWith("th")) {
+                options.threads = Integer.parseInt(tag.substring(2));
+            } else if(tag.equals("tp")) {
+                options.treeParallel = true;
+            } else if(tag.startsWith("vl")) {
+                options.virtualLoss = Integer.parseInt(tag.substring(2));
+            } else if(tag.startsWith("fb")) {
+                options.forkBudget = Integer.parseInt(tag.substring(2));
+            } else if(tag.startsWith("lp")) {
+                options.leafPlayouts = Integer.parseInt(tag.substring(2));
+            } else if(tag.startsWith("lt")) {
+                options.leafThreads = Integer.parseInt(tag.substring(2));
+            } else if(tag.startsWith("tt")) {
+                options.ttBits = Integer.parseInt(tag.substring(2));
+            } else if(tag.startsWith("nb")) {
+                options.nodeBits = Integer.parseInt(tag.substring(2));
+            } else if(tag.startsWith("rp")) {
+                options.ttReplace = BaseTransposTable.parseReplace(tag.substring(2));
+            } else if(tag.equals("oh")) {
+                options.offHeapTT = true;
+            } else if(tag.startsWith("prof")) {
+                options.profile = (tag.length() > 4) ? Integer.parseInt(tag.substring(4)) : 16;
             } else if(tag.startsWith("test")) {
                 options.test = true;
             } else if(tag.startsWith("wv")) {
@@ -143,16 +205,21 @@ public class SimGame {
         }
     }
 
-    public void run() {
+    /**
+     * @return The winner of the game
+     */
+    public int run() {
 
-        System.out.println("Starting game simulation...");
+        out.println("Starting game simulation...");
 
-        System.out.println("P1: " + p1label);
-        System.out.println("P2: " + p2label);
-        System.out.println("");
+        out.println("P1: " + p1label);
+        out.println("P2: " + p2label);
+        out.println("");
 
         Board board = new Board();
         board.initialize();
+        // The searches of both players draw from the random generator of the game, the players get a clone of the board
+        board.setRandom(new FastRandom(seed));
 
         loadPlayer(1, p1label);
         loadPlayer(2, p2label);
@@ -169,31 +236,40 @@ public class SimGame {
             options2.timeLimit = timeLimit;
         }
 
-        int[] m;
-        while (board.checkWin() == Board.NONE_WIN) {
+        try {
+            int m;
+            while (board.checkWin() == Board.NONE_WIN) {
 
-            if (printBoard)
-                System.out.println(board.toString());
+                if (printBoard)
+                    out.println(board.toString());
 
-            int p = board.getPlayerToMove();
-            AIPlayer aiPlayer = (p == 1 ? player1 : player2);
-            System.gc();
+                int p = board.getPlayerToMove();
+                AIPlayer aiPlayer = (p == 1 ? player1 : player2);
 
-            long startTime = System.currentTimeMillis();
-            aiPlayer.getMove(board.clone());
-            long time = System.currentTimeMillis() - startTime;
-            m = aiPlayer.getBestMove();
-            board.doMove(m, true);
+                long startTime = System.currentTimeMillis();
+                aiPlayer.getMove(board.clone());
+                long time = System.currentTimeMillis() - startTime;
+                m = aiPlayer.getBestMove();
+                board.doMove(m, true);
+                SearchStats stats = aiPlayer.getSearchStats();
+                if (statsSink != null && stats != null)
+                    statsSink.write(runName != null ? runName : p1label + "-" + p2label + "-" + seed, stats);
 
-            if (timed && p == timedPlayer) {
-                // Allocate the time spent to the non-fixed player
-                Options opt = (timedPlayer == 1) ? options2 : options1;
-                opt.fixSimulations = false;
-                opt.timeLimit = (int)Math.max(100, time);
+                if (timed && p == timedPlayer) {
+                    // Allocate the time spent to the non-fixed player
+                    Options opt = (timedPlayer == 1) ? options2 : options1;
+                    opt.fixSimulations = false;
+                    opt.timeLimit = (int)Math.max(100, time);
+                }
             }
+        } finally {
+            // The threads of the players are not reused by the next game
+            player1.close();
+            player2.close();
         }
         // Do not change the format of this line. Used by results aggregator scripts/parseres.perl
-        System.out.println("Game over. Winner is " + board.checkWin());
+        out.println("Game over. Winner is " + board.checkWin());
+        return board.checkWin();
     }
 }
 
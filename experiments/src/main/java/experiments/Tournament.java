@@ -0,0 +1,118 @@
+package experiments;
+
+import framework.util.StatsSink;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays the games of a list of matchups in a single JVM, replaces scripts/parallel.perl. Every game is played twice
+ * with the same seed, once for each seating, and its output is written to scratch/game-p1-p2-run.log, so the results
+ * can be aggregated by scripts/parseres.perl. The statistics of all searches are written to scratch/stats.jsonl.
+ * <p>
+ * Usage: Tournament scratch timelimit threads gamesPerMatch p1,p2 [p1,p2 ...]
+ * <p>
+ * Every player allocates its own transposition table, and a UCT player its own tree. Use the tags tt&lt;bits&gt; (2^bits
+ * states in the transposition table) and nb&lt;bits&gt; (2^bits nodes in the UCT tree) to limit the memory of concurrent
+ * games.
+ */
+public class Tournament {
+    private static final String GAME = "breakthrough";
+    private final File scratchDir;
+    private final int timeLimit, threads;
+    private final List<Runnable> jobs = new ArrayList<>();
+    private final AtomicInteger done = new AtomicInteger();
+    private StatsSink statsSink;
+    private long startTime;
+
+    public Tournament(File scratchDir, int timeLimit, int threads) {
+        this.scratchDir = scratchDir;
+        this.timeLimit = timeLimit;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 5) {
+            System.out.println("Usage: Tournament <scratch dir> <timelimit (ms)> <threads> <games per match> " +
+                    "<p1,p2> [<p1,p2> ...]");
+            System.out.println("Use the player tags tt<bits> and nb<bits> to set the size of the transposition " +
+                    "table and the initial size of the UCT tree");
+            return;
+        }
+        File scratchDir = new File(args[0]);
+        if (!scratchDir.isDirectory())
+            throw new RuntimeException("Scratch directory " + scratchDir + " does not exist");
+        Tournament tournament = new Tournament(scratchDir, Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        int gamesPerMatch = Integer.parseInt(args[3]);
+        Random r = new Random();
+        for (int i = 4; i < args.length; i++) {
+            String[] algorithms = args[i].split(",");
+            if (algorithms.length != 2)
+                throw new RuntimeException("Invalid matchup: " + args[i]);
+            for (int run = 1; run <= gamesPerMatch; run++) {
+                long seed = r.nextInt(100000000) + 1;
+                // a1 as player 1, a2 as player 2, and swap seats
+                tournament.addGame(algorithms[0], algorithms[1], run, seed);
+                tournament.addGame(algorithms[1], algorithms[0], run, seed);
+            }
+        }
+        Collections.shuffle(tournament.jobs, r);
+        System.out.println("queued " + tournament.jobs.size() + " jobs");
+        tournament.run();
+    }
+
+    public void addGame(String p1, String p2, int run, long seed) {
+        String runName = GAME + "-" + p1 + "-" + p2 + "-" + run;
+        jobs.add(() -> {
+            System.out.println("Launching " + runName);
+            try (PrintStream out = new PrintStream(new File(scratchDir, runName + ".log"))) {
+                try {
+                    SimGame game = new SimGame(p1, p2, timeLimit, seed, out);
+                    game.setStatsSink(statsSink, runName);
+                    game.run();
+                } catch (Throwable e) {
+                    // parseres.perl counts a log with an exception as a crash, errors such as running out of memory
+                    // would otherwise be swallowed by the pool
+                    e.printStackTrace(out);
+                    System.err.println("Game " + runName + " crashed: " + e);
+                }
+            } catch (FileNotFoundException e) {
+                throw new RuntimeException("Cannot write the log of " + runName, e);
+            }
+            int n = done.incrementAndGet();
+            double secondsPerJob = (System.currentTimeMillis() - startTime) / 1000. / n;
+            System.out.println("Reaped " + runName + " (" + n + " / " + jobs.size() + ", ~" +
+                    prettyTime(secondsPerJob * (jobs.size() - n)) + " remaining)");
+        });
+    }
+
+    /**
+     * Play all games, at most threads games at a time
+     */
+    public void run() throws InterruptedException {
+        startTime = System.currentTimeMillis();
+        statsSink = new StatsSink(new File(scratchDir, "stats.jsonl"));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (Runnable job : jobs)
+            pool.submit(job);
+        pool.shutdown();
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        statsSink.close();
+    }
+
+    private static String prettyTime(double seconds) {
+        int s = (int) seconds, hours = s / 3600, minutes = (s % 3600) / 60;
+        if (hours == 0)
+            return String.format("%02d:%02d", minutes, s % 60);
+        return String.format("%02d:%02d:%02d", hours, minutes, s % 60);
+    }
+}
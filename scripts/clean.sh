@@ -1,7 +1,3 @@
 #!/bin/sh
 
-if [ -d build ] 
-then 
-  rm -rf build/*
-fi
-
+mvn -B -q clean
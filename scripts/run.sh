@@ -1,23 +1,13 @@
 #!/bin/sh
-dirs="breakthrough experiments framework mcts"
-class=`shift`
+class=$1
+shift
 
-CP="."
-for d in $dirs
-do
-  CP="$CP:build/$d"
-done
-
-java -Xmx2048m -Xms512m -XX:+UseSerialGC -cp build $class $@
+java -Xms2g -Xmx2g -XX:+AlwaysPreTouch -XX:+UseParallelGC -cp experiments/target/breakthrough.jar $class "$@"
 
 # Classes with main 
 #
-#   amazons.gui.Amazons
-#   cannon.gui.CannonGui
-#   chinesecheckers.gui.CCGui
-#   pentalath.gui.PentalathGui
-#   lostcities.Game
-#   experiments.AITests
+#   breakthrough.Game
+#   experiments.SimGame
+#   experiments.Tournament
 # 
 
-